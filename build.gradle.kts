@@ -47,6 +47,15 @@ dependencies {
 	implementation("org.springframework.cloud:spring-cloud-starter-aws:2.2.6.RELEASE") // amazon cloud 사용
 	implementation ("org.springframework.boot:spring-boot-starter-webflux") // webflux, 모바일 사용
 
+	// lambda 호출 서킷 브레이커
+	implementation("io.github.resilience4j:resilience4j-circuitbreaker:2.1.0")
+	implementation("io.github.resilience4j:resilience4j-reactor:2.1.0")
+	implementation("io.github.resilience4j:resilience4j-micrometer:2.1.0")
+
+	// 상세 조회 캐시 (로컬 L1 + redis L2 바이너리 직렬화)
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+
 	// 스프링 부트 3.0 이상 query dls
 	implementation("com.querydsl:querydsl-jpa:5.0.0:jakarta")
 	annotationProcessor("com.querydsl:querydsl-apt:5.0.0:jakarta")
@@ -1,16 +1,30 @@
 package com.project.doongdoong.domain.analysis.controller;
 
 import com.project.doongdoong.domain.analysis.dto.response.*;
+import com.project.doongdoong.domain.analysis.service.AnalysisJobService;
 import com.project.doongdoong.domain.analysis.service.AnalysisService;
+import com.project.doongdoong.domain.answer.dto.AnswerConfirmRequestDto;
 import com.project.doongdoong.domain.answer.dto.AnswerCreateResponseDto;
 import com.project.doongdoong.domain.answer.service.AnswerService;
 import com.project.doongdoong.domain.image.exception.FileEmptyException;
+import com.project.doongdoong.domain.voice.dto.response.VoiceUploadUrlResponseDto;
 import com.project.doongdoong.global.annotation.CurrentUser;
 import com.project.doongdoong.global.common.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 
 
 @RestController
@@ -19,6 +33,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class AnalysisController {
 
     private final AnalysisService analysisService;
+    private final AnalysisJobService analysisJobService;
     private final AnswerService answerService;
 
     @PostMapping
@@ -36,10 +51,19 @@ public class AnalysisController {
 
     @GetMapping
     public ApiResponse<AnaylsisListResponseDto> getAnalyses(@CurrentUser String uniqueValue
-            , @RequestParam(name = "pageNumber", required = false, defaultValue = "1") int pageNumber){
+            , @RequestParam(name = "pageNumber", required = false, defaultValue = "1") int pageNumber
+            , @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal){ // false 이면 전체 페이지 수 계산 생략
         pageNumber -= 1; // 페이징은 0번부터이므로 1페이지로 표시
 
-        return ApiResponse.of(HttpStatus.OK, null, analysisService.getAnalysisList(uniqueValue ,pageNumber));
+        return ApiResponse.of(HttpStatus.OK, null, analysisService.getAnalysisList(uniqueValue ,pageNumber, withTotal));
+    }
+
+    @GetMapping("/cursor")
+    public ApiResponse<AnalysisCursorListResponseDto> getAnalysesByCursor(@CurrentUser String uniqueValue
+            , @RequestParam(name = "cursorTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorTime
+            , @RequestParam(name = "cursorId", required = false) Long cursorId){ // 커서가 없으면 첫 페이지
+
+        return ApiResponse.of(HttpStatus.OK, null, analysisService.getAnalysisListByCursor(uniqueValue, cursorTime, cursorId));
     }
 
     @GetMapping("/week")
@@ -48,10 +72,42 @@ public class AnalysisController {
         return ApiResponse.of(HttpStatus.OK, null, analysisService.getAnalysisListGroupByDay(uniqueValue));
     }
 
+    @GetMapping("/trend")
+    public ApiResponse<FeelingStateTrendResponse> getFeelingStateTrend(@CurrentUser String uniqueValue
+            , @RequestParam(name = "unit", required = false, defaultValue = "DAY") String unit // DAY, WEEK, MONTH
+            , @RequestParam(name = "days", required = false, defaultValue = "30") int days // 최대 366일
+            , @RequestParam(name = "window", required = false, defaultValue = "7") int window){ // 이동 평균 구간 수
+
+        return ApiResponse.of(HttpStatus.OK, null, analysisService.getFeelingStateTrend(uniqueValue, unit, days, window));
+    }
+
     @PostMapping("/{id}")
-    public ApiResponse<FellingStateCreateResponse> analyzeEmotion(@PathVariable("id") Long analysisId, @CurrentUser String uniqueValue){
+    public Mono<ApiResponse<FellingStateCreateResponse>> analyzeEmotion(@PathVariable("id") Long analysisId, @CurrentUser String uniqueValue){
+
+        return analysisService.analyzeEmotion(analysisId, uniqueValue) // 비동기 응답 -> lambda 응답 대기 동안 톰캣 스레드 반환
+                .map(result -> ApiResponse.of(HttpStatus.OK, null, result));
+    }
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping(value = "/{id}", params = "async=true")
+    public ApiResponse<AnalysisJobResponse> requestAnalyzeEmotion(@PathVariable("id") Long analysisId, @CurrentUser String uniqueValue
+            , HttpServletResponse response){
+
+        AnalysisJobResponse result = analysisJobService.requestAnalyzeEmotion(analysisId, uniqueValue); // 작업 등록 후 바로 응답
+
+        URI location = UriComponentsBuilder.fromPath("/api/v1/analysis/{id}/status")
+                .buildAndExpand(result.getJobId())
+                .toUri();
+
+        response.setHeader("Location", location.toString());
+
+        return ApiResponse.of(HttpStatus.ACCEPTED, null, result);
+    }
+
+    @GetMapping("/{id}/status")
+    public ApiResponse<AnalysisJobResponse> getAnalysisJob(@PathVariable("id") Long analysisId, @CurrentUser String uniqueValue){
 
-        return ApiResponse.of(HttpStatus.OK, null, analysisService.analyzeEmotion(analysisId, uniqueValue));
+        return ApiResponse.of(HttpStatus.OK, null, analysisJobService.getAnalysisJob(analysisId, uniqueValue));
     }
 
     /*@PostMapping("/{id}/answer")
@@ -78,6 +134,38 @@ public class AnalysisController {
         return ApiResponse.of(HttpStatus.OK, null, answerService.createAnswer(analysisId, file, questionId));
     }
 
+    @PostMapping(value = "/{id}/answer/stream", consumes = {"audio/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ApiResponse<AnswerCreateResponseDto> createAnswerByStream(@PathVariable("id") Long analysisId,
+                                                                     @RequestParam("questionId") Long questionId,
+                                                                     @RequestParam("filename") String filename,
+                                                                     @CurrentUser String uniqueValue,
+                                                                     HttpServletRequest request) throws IOException { // multipart 파싱 없이 요청 본문을 S3 로 전달
+
+        if(request.getContentLengthLong() == 0){
+            throw new FileEmptyException();
+        }
+
+        return ApiResponse.of(HttpStatus.OK, null,
+                answerService.createAnswer(analysisId, filename, request.getInputStream(), request.getContentLengthLong(), questionId, uniqueValue));
+    }
+
+    @PostMapping("/{id}/answer/upload-url")
+    public ApiResponse<VoiceUploadUrlResponseDto> createAnswerUploadUrl(@PathVariable("id") Long analysisId,
+                                                                        @RequestParam("questionId") Long questionId,
+                                                                        @RequestParam("filename") String filename,
+                                                                        @CurrentUser String uniqueValue){ // 음성 파일은 서버를 거치지 않고 S3 로 직접 업로드
+
+        return ApiResponse.of(HttpStatus.OK, null, answerService.createAnswerUploadUrl(analysisId, questionId, filename, uniqueValue));
+    }
+
+    @PostMapping("/{id}/answer/confirm")
+    public ApiResponse<AnswerCreateResponseDto> confirmAnswer(@PathVariable("id") Long analysisId,
+                                                              @Valid @RequestBody AnswerConfirmRequestDto dto,
+                                                              @CurrentUser String uniqueValue){ // 업로드 완료 후 호출
+
+        return ApiResponse.of(HttpStatus.OK, null, answerService.confirmAnswer(analysisId, dto, uniqueValue));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(value = HttpStatus.NO_CONTENT)
     public ApiResponse<?> deleteAnalysis(@PathVariable("id") Long analysisId){
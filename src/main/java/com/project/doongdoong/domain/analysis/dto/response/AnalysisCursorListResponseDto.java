@@ -0,0 +1,19 @@
+package com.project.doongdoong.domain.analysis.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisCursorListResponseDto {
+    private boolean hasNext;
+    private String nextCursorTime; // 다음 페이지 요청 시 cursorTime, 마지막 페이지면 null
+    private Long nextCursorId; // 다음 페이지 요청 시 cursorId, 마지막 페이지면 null
+    private List<AnaylsisResponseDto> anaylsisResponseDtoList;
+}
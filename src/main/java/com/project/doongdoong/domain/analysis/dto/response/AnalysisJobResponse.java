@@ -0,0 +1,21 @@
+package com.project.doongdoong.domain.analysis.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class AnalysisJobResponse {
+
+    private Long jobId; // 분석 작업 id (analysisId와 동일)
+    private String status;
+    private Double feelingState; // 분석 완료(DONE) 상태에서만 값 존재
+
+    @Builder
+    public AnalysisJobResponse(Long jobId, String status, Double feelingState) {
+        this.jobId = jobId;
+        this.status = status;
+        this.feelingState = feelingState;
+    }
+}
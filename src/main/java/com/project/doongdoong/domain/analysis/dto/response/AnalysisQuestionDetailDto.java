@@ -0,0 +1,32 @@
+package com.project.doongdoong.domain.analysis.dto.response;
+
+import com.project.doongdoong.domain.question.model.QuestionContent;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분석 상세 조회용 projection, 분석의 질문 1개당 1 row
+ * 질문이 없는 분석은 question 관련 값이 모두 null 인 row 1개
+ */
+@Getter
+@NoArgsConstructor
+public class AnalysisQuestionDetailDto {
+    private Long analysisId;
+    private LocalDateTime createdTime;
+    private double feelingState;
+    private Long questionId;
+    private QuestionContent questionContent;
+    private String answerContent;
+
+    public AnalysisQuestionDetailDto(Long analysisId, LocalDateTime createdTime, double feelingState
+            , Long questionId, QuestionContent questionContent, String answerContent) {
+        this.analysisId = analysisId;
+        this.createdTime = createdTime;
+        this.feelingState = feelingState;
+        this.questionId = questionId;
+        this.questionContent = questionContent;
+        this.answerContent = answerContent;
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.doongdoong.domain.analysis.dto.response;
+
+import com.project.doongdoong.domain.question.model.QuestionContent;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 분석 목록 조회용 projection
+ * 분석 값은 페이지 조회 쿼리에서, 질문 내용은 페이지의 분석 id 들로 한 번에 조회한 결과로 채운다.
+ */
+@Getter
+@NoArgsConstructor
+public class AnalysisSummaryDto {
+    private Long analysisId;
+    private LocalDateTime createdTime;
+    private double feelingState;
+    private List<QuestionContent> questionContents = new ArrayList<>();
+
+    public AnalysisSummaryDto(Long analysisId, LocalDateTime createdTime, double feelingState) {
+        this.analysisId = analysisId;
+        this.createdTime = createdTime;
+        this.feelingState = feelingState;
+    }
+
+    public void addQuestionContent(QuestionContent questionContent) {
+        this.questionContents.add(questionContent);
+    }
+}
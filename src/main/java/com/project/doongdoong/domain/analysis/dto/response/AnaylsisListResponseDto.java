@@ -13,7 +13,8 @@ import java.util.List;
 @AllArgsConstructor
 public class AnaylsisListResponseDto {
     private int pageNumber;
-    private int totalPage;
+    private Integer totalPage; // 전체 개수 조회를 생략한 경우 null
+    private boolean hasNext;
     private List<AnaylsisResponseDto> anaylsisResponseDtoList;
 
 }
@@ -0,0 +1,24 @@
+package com.project.doongdoong.domain.analysis.dto.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@NoArgsConstructor
+public class DailyFeelingStateDto {
+    private LocalDate analyzeDate;
+    private double feelingStateSum;
+    private int analysisCount;
+
+    public DailyFeelingStateDto(LocalDate analyzeDate, double feelingStateSum, int analysisCount) {
+        this.analyzeDate = analyzeDate;
+        this.feelingStateSum = feelingStateSum;
+        this.analysisCount = analysisCount;
+    }
+
+    public double getAvgFeelingState() {
+        return feelingStateSum / analysisCount;
+    }
+}
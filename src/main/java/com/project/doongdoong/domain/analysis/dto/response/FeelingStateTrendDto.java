@@ -0,0 +1,24 @@
+package com.project.doongdoong.domain.analysis.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class FeelingStateTrendDto {
+    private String date; // 구간 시작일, 첫 구간은 조회 시작일로 잘림
+    private Double avgFeelingState; // 구간에 분석이 없으면 null
+    private int analysisCount;
+    private Double movingAvgFeelingState; // 최근 window 개 구간의 평균, 분석이 없으면 null
+    private boolean partial; // 조회 기간에 잘려 주, 월 전체를 포함하지 않는 구간(첫 구간, 진행 중인 마지막 구간)
+
+    @Builder
+    public FeelingStateTrendDto(String date, Double avgFeelingState, int analysisCount, Double movingAvgFeelingState, boolean partial) {
+        this.date = date;
+        this.avgFeelingState = avgFeelingState;
+        this.analysisCount = analysisCount;
+        this.movingAvgFeelingState = movingAvgFeelingState;
+        this.partial = partial;
+    }
+}
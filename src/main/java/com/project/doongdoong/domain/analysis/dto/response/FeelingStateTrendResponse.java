@@ -0,0 +1,22 @@
+package com.project.doongdoong.domain.analysis.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class FeelingStateTrendResponse {
+    private String unit;
+    private int window;
+    private List<FeelingStateTrendDto> trends;
+
+    @Builder
+    public FeelingStateTrendResponse(String unit, int window, List<FeelingStateTrendDto> trends) {
+        this.unit = unit;
+        this.window = window;
+        this.trends = trends;
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.doongdoong.domain.analysis.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 분석 결과 저장, 삭제로 일자별 감정 수치 집계가 바뀌어야 할 때 발행
+ * 저장은 (+감정 수치, +1), 삭제는 (-감정 수치, -1)
+ */
+@Getter
+@AllArgsConstructor
+public class DailyFeelingStateChangedEvent {
+    private Long userId;
+    private LocalDate analyzeDate;
+    private double feelingStateDelta;
+    private int countDelta;
+}
@@ -0,0 +1,11 @@
+package com.project.doongdoong.domain.analysis.exception;
+
+import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.exception.ErrorType;
+
+public class AnalysisJobConflictException extends CustomException.ConflictException {
+
+    public AnalysisJobConflictException() {
+        super(ErrorType.Conflict.ANALYSIS_JOB_ALREADY_REQUESTED, "이미 감정 분석이 요청되어 진행 중입니다.");
+    }
+}
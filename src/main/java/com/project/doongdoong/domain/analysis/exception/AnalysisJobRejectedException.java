@@ -0,0 +1,11 @@
+package com.project.doongdoong.domain.analysis.exception;
+
+import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.exception.ErrorType;
+
+public class AnalysisJobRejectedException extends CustomException.ServiceUnavailableException {
+
+    public AnalysisJobRejectedException() {
+        super(ErrorType.ServerError.ANALYSIS_JOB_REJECTED, "감정 분석 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.doongdoong.domain.analysis.exception;
+
+import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.exception.ErrorType;
+
+public class TrendUnitInvalidException extends CustomException.InvalidRequestException {
+    public TrendUnitInvalidException(String detail) {
+        super(ErrorType.BadRequest.TREND_UNIT_WRONG, "입력한 추이 단위는 존재하지 않습니다. unit = " + detail);
+    }
+}
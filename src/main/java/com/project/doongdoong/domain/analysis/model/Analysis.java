@@ -1,5 +1,6 @@
 package com.project.doongdoong.domain.analysis.model;
 
+import com.project.doongdoong.domain.analysis.event.DailyFeelingStateChangedEvent;
 import com.project.doongdoong.domain.answer.model.Answer;
 import com.project.doongdoong.domain.counsel.model.Counsel;
 import com.project.doongdoong.domain.question.model.Question;
@@ -10,10 +11,13 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static jakarta.persistence.CascadeType.ALL;
@@ -23,6 +27,7 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_analysis_user_created_time", columnList = "user_id, created_time, analysis_id")) // 사용자별 커서 페이징
 public class Analysis extends BaseEntity {
 
     @Id @GeneratedValue(strategy = IDENTITY)
@@ -33,6 +38,11 @@ public class Analysis extends BaseEntity {
 
     private LocalDate analyzeTime;
 
+    @Enumerated(EnumType.STRING)
+    private AnalysisStatus analysisStatus; // 감정 분석 작업 상태, 분석 요청 전에는 null
+
+    private LocalDateTime jobLeaseTime; // 작업 상태를 마지막으로 바꾼 시각, 오래된 QUEUED/RUNNING 은 중단된 작업으로 보고 다시 요청 가능
+
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -46,6 +56,10 @@ public class Analysis extends BaseEntity {
     @OneToOne(fetch = LAZY, mappedBy = "analysis")
     private Counsel counsel;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private final List<DailyFeelingStateChangedEvent> dailyFeelingStateEvents = new ArrayList<>();
+
     @Builder
     public Analysis(User user, List<Question> questions){
         this.feelingState = 0;
@@ -55,8 +69,48 @@ public class Analysis extends BaseEntity {
 
 
     public void changeFeelingStateAndAnalyzeTime(double feelingState, LocalDate analyzeTime){
+        if(this.analyzeTime != null){ // 기존 분석 결과는 집계에서 제외
+            registerDailyFeelingStateEvent(this.analyzeTime, -this.feelingState, -1);
+        }
         this.feelingState = feelingState;
         this.analyzeTime = analyzeTime;
+        if(analyzeTime != null){
+            registerDailyFeelingStateEvent(analyzeTime, feelingState, 1);
+        }
+    }
+
+    public void excludeFromDailyFeelingState(){ // 분석 삭제 전 호출
+        if(this.analyzeTime != null){
+            registerDailyFeelingStateEvent(this.analyzeTime, -this.feelingState, -1);
+        }
+    }
+
+    private void registerDailyFeelingStateEvent(LocalDate analyzeTime, double feelingStateDelta, int countDelta){
+        if(this.user == null || this.user.getId() == null){
+            return;
+        }
+        dailyFeelingStateEvents.add(new DailyFeelingStateChangedEvent(this.user.getId(), analyzeTime, feelingStateDelta, countDelta));
+    }
+
+    // repository save, delete 시 발행 -> 일자별 감정 수치 집계 갱신
+    @DomainEvents
+    protected Collection<DailyFeelingStateChangedEvent> domainEvents(){
+        return List.copyOf(dailyFeelingStateEvents);
+    }
+
+    @AfterDomainEventPublication
+    protected void clearDomainEvents(){
+        dailyFeelingStateEvents.clear();
+    }
+
+    public void changeAnalysisStatus(AnalysisStatus analysisStatus){
+        this.analysisStatus = analysisStatus;
+        this.jobLeaseTime = LocalDateTime.now();
+    }
+
+    public boolean isJobInProgress(LocalDateTime staleBefore){ // 서버 종료 등으로 lease 가 끝난 작업은 진행 중으로 보지 않음
+        return (analysisStatus == AnalysisStatus.QUEUED || analysisStatus == AnalysisStatus.RUNNING)
+                && jobLeaseTime != null && jobLeaseTime.isAfter(staleBefore);
     }
 
 }
@@ -0,0 +1,16 @@
+package com.project.doongdoong.domain.analysis.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum AnalysisStatus {
+
+    QUEUED("대기"),
+    RUNNING("분석중"),
+    DONE("완료"),
+    FAILED("실패");
+
+    private final String text;
+}
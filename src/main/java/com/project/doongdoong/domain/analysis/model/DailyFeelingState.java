@@ -0,0 +1,44 @@
+package com.project.doongdoong.domain.analysis.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * 사용자별 일자별 감정 수치 집계(rollup)
+ * 분석 결과가 저장될 때 증분 갱신되므로 주간, 월간, 연간 차트는 일자 수만큼의 row 만 읽는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_feeling_state_user_date", columnNames = {"user_id", "analyze_date"}))
+public class DailyFeelingState {
+
+    @Id @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "daily_feeling_state_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "analyze_date", nullable = false)
+    private LocalDate analyzeDate;
+
+    private double feelingStateSum;
+
+    private int analysisCount;
+
+    @Builder
+    public DailyFeelingState(Long userId, LocalDate analyzeDate, double feelingStateSum, int analysisCount) {
+        this.userId = userId;
+        this.analyzeDate = analyzeDate;
+        this.feelingStateSum = feelingStateSum;
+        this.analysisCount = analysisCount;
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.doongdoong.domain.analysis.model;
+
+import com.project.doongdoong.domain.analysis.exception.TrendUnitInvalidException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum TrendUnit {
+
+    DAY("일"),
+    WEEK("주"),
+    MONTH("월");
+
+    private final String text;
+
+    public static TrendUnit from(String value) {
+
+        return Arrays.stream(TrendUnit.values())
+                .filter(unit -> unit.name().equalsIgnoreCase(value))
+                .findAny()
+                .orElseThrow(() -> new TrendUnitInvalidException(value));
+    }
+
+    // 날짜가 속한 구간의 시작일, 주는 월요일부터
+    public LocalDate bucketStartOf(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    public LocalDate nextBucketStartOf(LocalDate bucketStart) {
+        switch (this) {
+            case WEEK:
+                return bucketStart.plusWeeks(1);
+            case MONTH:
+                return bucketStart.plusMonths(1);
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+}
@@ -1,17 +1,15 @@
 package com.project.doongdoong.domain.analysis.repository;
 
-import com.project.doongdoong.domain.analysis.dto.response.FeelingStateResponseDto;
 import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.analysis.model.AnalysisStatus;
 import com.project.doongdoong.domain.analysis.repository.querydls.AnalysisRepositoryCustom;
 import com.project.doongdoong.domain.user.model.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -22,19 +20,28 @@ public interface AnalysisRepository extends JpaRepository<Analysis, Long>, Analy
 
     @Query("select a from Analysis a left outer join fetch a.counsel where a.user = :user and a.id = :id")
     Optional<Analysis> findByUserAndId(@Param("user") User user, @Param("id") Long analysisId);
-    Page<Analysis> findAllByUserOrderByCreatedTime(User user, Pageable pageable);
-
-    // 현재 시간 기준으로 일주일 치 분석값 하루 기준으로 그룹핑해서 가져오기
-    @Query("select new com.project.doongdoong.domain.analysis.dto.response.FeelingStateResponseDto" +
-            "(CONCAT(YEAR(a.analyzeTime), '-', MONTH(a.analyzeTime), '-', DAY(a.analyzeTime)), avg(a.feelingState))" +
-            "from Analysis a where a.user = :user " +
-            "and a.analyzeTime between :startTime AND :endTime" +
-            " group by YEAR(a.analyzeTime), MONTH(a.analyzeTime), DAY(a.analyzeTime) ")
-    List<FeelingStateResponseDto> findAllByDateBetween(@Param("user") User user
-            , @Param("startTime") LocalDate startTime, @Param("endTime") LocalDate endTime);
-
-    Optional<Analysis> findFirstByUserOrderByAnalyzeTimeDesc(User user);
 
     @Query("select analysis from Analysis analysis join fetch analysis.questions where analysis.id = :analysisId")
     Optional<Analysis> findAnalysisWithQuestion(@Param("analysisId") Long analysisId);
+
+    // 분석 요청 전이거나 실패한 분석만 대기 상태로 변경 -> 동시 요청 시 하나의 요청만 성공
+    @Modifying(clearAutomatically = true) // lease 가 끝난 QUEUED/RUNNING(서버 종료로 중단된 작업)도 다시 대기 상태로
+    @Query("update Analysis a set a.analysisStatus = :queued, a.jobLeaseTime = :now where a.id = :analysisId and a.analyzeTime is null " +
+            "and (a.analysisStatus is null or a.analysisStatus = :failed " +
+            "or (a.analysisStatus in (:queued, :running) and (a.jobLeaseTime is null or a.jobLeaseTime < :staleBefore)))")
+    int updateAnalysisStatusToQueued(@Param("analysisId") Long analysisId
+            , @Param("queued") AnalysisStatus queued, @Param("running") AnalysisStatus running, @Param("failed") AnalysisStatus failed
+            , @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Analysis a set a.analysisStatus = :failed, a.jobLeaseTime = :now where a.analyzeTime is null " +
+            "and a.analysisStatus in (:queued, :running) and (a.jobLeaseTime is null or a.jobLeaseTime < :staleBefore)")
+    int updateStaleJobsToFailed(@Param("queued") AnalysisStatus queued, @Param("running") AnalysisStatus running
+            , @Param("failed") AnalysisStatus failed, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // 분석 결과 저장 선점, 분석 시간이 없는 경우만 DONE 으로 변경 -> 동시에 저장하려는 요청 중 하나만 성공
+    @Modifying(flushAutomatically = true)
+    @Query("update Analysis a set a.analysisStatus = :done where a.id = :analysisId and a.analyzeTime is null " +
+            "and (a.analysisStatus is null or a.analysisStatus <> :done)")
+    int updateAnalysisStatusToDone(@Param("analysisId") Long analysisId, @Param("done") AnalysisStatus done);
 }
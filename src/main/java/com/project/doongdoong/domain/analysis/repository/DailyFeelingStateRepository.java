@@ -0,0 +1,52 @@
+package com.project.doongdoong.domain.analysis.repository;
+
+import com.project.doongdoong.domain.analysis.dto.response.DailyFeelingStateDto;
+import com.project.doongdoong.domain.analysis.model.DailyFeelingState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyFeelingStateRepository extends JpaRepository<DailyFeelingState, Long> {
+
+    // 영속성 컨텍스트의 엔티티 값과 어긋날 수 있으므로 조회는 항상 DTO 로만 한다.
+    @Modifying
+    @Query("update DailyFeelingState d set d.feelingStateSum = d.feelingStateSum + :feelingStateDelta" +
+            ", d.analysisCount = d.analysisCount + :countDelta " +
+            "where d.userId = :userId and d.analyzeDate = :analyzeDate")
+    int accumulate(@Param("userId") Long userId, @Param("analyzeDate") LocalDate analyzeDate
+            , @Param("feelingStateDelta") double feelingStateDelta, @Param("countDelta") int countDelta);
+
+    @Query("select new com.project.doongdoong.domain.analysis.dto.response.DailyFeelingStateDto(d.analyzeDate, d.feelingStateSum, d.analysisCount) " +
+            "from DailyFeelingState d where d.userId = :userId and d.analysisCount > 0 " +
+            "and d.analyzeDate between :startDate and :endDate order by d.analyzeDate")
+    List<DailyFeelingStateDto> findAllByUserIdAndDateBetween(@Param("userId") Long userId
+            , @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("select max(d.analyzeDate) from DailyFeelingState d where d.userId = :userId and d.analysisCount > 0")
+    LocalDate findLastAnalyzeDate(@Param("userId") Long userId);
+
+    // 이관 시 이미 있는 (사용자, 일자) row 중 분석 결과와 어긋난 row 를 분석 결과 기준으로 다시 계산
+    @Modifying
+    @Query(value = "update daily_feeling_state d set " +
+            "feeling_state_sum = (select coalesce(sum(a.feeling_state), 0) from analysis a where a.user_id = d.user_id and a.analyze_time = d.analyze_date), " +
+            "analysis_count = (select count(*) from analysis a where a.user_id = d.user_id and a.analyze_time = d.analyze_date) " +
+            "where d.analysis_count <> (select count(*) from analysis a where a.user_id = d.user_id and a.analyze_time = d.analyze_date) " +
+            "or d.feeling_state_sum <> (select coalesce(sum(a.feeling_state), 0) from analysis a where a.user_id = d.user_id and a.analyze_time = d.analyze_date)"
+            , nativeQuery = true)
+    int recomputeFromAnalysis();
+
+    // 집계 테이블 도입 전 분석 결과 이관용, 이미 집계된 (사용자, 일자)는 건너뛰므로 여러 번 실행해도 중복 row 없음
+    @Modifying
+    @Query(value = "insert into daily_feeling_state (user_id, analyze_date, feeling_state_sum, analysis_count) " +
+            "select a.user_id, a.analyze_time, sum(a.feeling_state), count(*) from analysis a " +
+            "where a.analyze_time is not null and a.user_id is not null " +
+            "and not exists (select 1 from daily_feeling_state d where d.user_id = a.user_id and d.analyze_date = a.analyze_time) " +
+            "group by a.user_id, a.analyze_time", nativeQuery = true)
+    int backfillFromAnalysis();
+}
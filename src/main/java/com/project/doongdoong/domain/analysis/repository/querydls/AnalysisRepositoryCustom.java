@@ -1,9 +1,23 @@
 package com.project.doongdoong.domain.analysis.repository.querydls;
 
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisQuestionDetailDto;
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisSummaryDto;
 import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.user.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface AnalysisRepositoryCustom {
     Optional<Analysis> searchAnalysisWithVoiceOfAnswer(Long analysisId);
+
+    List<AnalysisQuestionDetailDto> searchAnalysisDetail(Long analysisId);
+
+    Page<AnalysisSummaryDto> searchPageAnalysisList(User user, Pageable pageable, boolean withCount);
+
+    Slice<AnalysisSummaryDto> searchAnalysisListByCursor(User user, LocalDateTime cursorTime, Long cursorId, int size);
 }
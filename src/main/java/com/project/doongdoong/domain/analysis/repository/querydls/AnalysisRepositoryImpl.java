@@ -1,14 +1,31 @@
 package com.project.doongdoong.domain.analysis.repository.querydls;
 
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisQuestionDetailDto;
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisSummaryDto;
 import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.user.model.User;
 import com.project.doongdoong.domain.voice.model.QVoice;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.project.doongdoong.domain.analysis.model.QAnalysis.analysis;
 import static com.project.doongdoong.domain.answer.model.QAnswer.answer;
+import static com.project.doongdoong.domain.question.model.QQuestion.question;
 import static com.project.doongdoong.domain.voice.model.QVoice.*;
 
 public class AnalysisRepositoryImpl implements AnalysisRepositoryCustom {
@@ -27,7 +44,132 @@ public class AnalysisRepositoryImpl implements AnalysisRepositoryCustom {
                 .leftJoin(analysis.answers, answer).fetchJoin()
                 .leftJoin(answer.voice, voice).fetchJoin()
                 .where(analysis.id.eq(analysisId))
+                .orderBy(answer.id.asc()) // 답변 순서 고정 -> lambda 요청 파일 순서와 결과 저장 순서를 맞춤
                 .fetchOne()
                 );
     }
+
+    /**
+     * 분석 상세 화면에 필요한 값만 한 번의 쿼리로 조회
+     * 질문 -> 답변(LAZY OneToOne) N+1, 분석 -> 상담(mappedBy OneToOne, 지연 로딩 불가) 조회가 발생하지 않도록 엔티티 대신 projection 사용
+     */
+    @Override
+    public List<AnalysisQuestionDetailDto> searchAnalysisDetail(Long analysisId) {
+
+        return queryFactory
+                .select(Projections.constructor(AnalysisQuestionDetailDto.class,
+                        analysis.id,
+                        analysis.createdTime,
+                        analysis.feelingState,
+                        question.id,
+                        question.questionContent,
+                        answer.content
+                ))
+                .from(analysis)
+                .leftJoin(question).on(question.analysis.eq(analysis))
+                .leftJoin(question.answer, answer)
+                .where(analysis.id.eq(analysisId))
+                .orderBy(question.id.asc())
+                .fetch();
+    }
+
+    /**
+     * 분석 목록 페이징 조회
+     * 1. 페이지에 해당하는 분석 값만 조회
+     * 2. 페이지의 분석 id 들로 질문을 IN 쿼리 한 번에 조회 -> 분석마다 질문을 조회하는 N+1 제거
+     * withCount 가 false 이면 전체 개수 조회를 생략하고 다음 페이지 존재 여부만 확인(1개 더 조회)
+     */
+    @Override
+    public Page<AnalysisSummaryDto> searchPageAnalysisList(User user, Pageable pageable, boolean withCount) {
+        int fetchSize = withCount ? pageable.getPageSize() : pageable.getPageSize() + 1;
+        List<AnalysisSummaryDto> content = queryFactory
+                .select(Projections.constructor(AnalysisSummaryDto.class,
+                        analysis.id,
+                        analysis.createdTime,
+                        analysis.feelingState
+                ))
+                .from(analysis)
+                .where(userEq(user))
+                .orderBy(analysis.createdTime.asc(), analysis.id.asc())
+                .offset(pageable.getOffset())
+                .limit(fetchSize)
+                .fetch();
+
+        boolean hasNext = !withCount && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        fillQuestionContents(content);
+
+        if (!withCount) { // 전체 개수 대신 다음 페이지가 있으면 1개 더 있는 것으로 표시
+            return new PageImpl<>(content, pageable, pageable.getOffset() + content.size() + (hasNext ? 1 : 0));
+        }
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(analysis.count())
+                .from(analysis)
+                .where(userEq(user));
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    /**
+     * 분석 목록 커서 페이징 조회, 최신순
+     * (created_time, analysis_id) 기준으로 커서 다음 값부터 조회하므로 OFFSET 처럼 앞 페이지를 건너뛰는 비용이 없다.
+     * 커서가 없으면 첫 페이지
+     */
+    @Override
+    public Slice<AnalysisSummaryDto> searchAnalysisListByCursor(User user, LocalDateTime cursorTime, Long cursorId, int size) {
+        List<AnalysisSummaryDto> content = queryFactory
+                .select(Projections.constructor(AnalysisSummaryDto.class,
+                        analysis.id,
+                        analysis.createdTime,
+                        analysis.feelingState
+                ))
+                .from(analysis)
+                .where(userEq(user), cursorLt(cursorTime, cursorId))
+                .orderBy(analysis.createdTime.desc(), analysis.id.desc())
+                .limit(size + 1) // 다음 페이지 존재 여부 확인용 1개
+                .fetch();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        fillQuestionContents(content);
+
+        return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+    }
+
+    private void fillQuestionContents(List<AnalysisSummaryDto> content) {
+        if (content.isEmpty()) {
+            return;
+        }
+        Map<Long, AnalysisSummaryDto> summaryById = content.stream()
+                .collect(Collectors.toMap(AnalysisSummaryDto::getAnalysisId, Function.identity()));
+
+        List<Tuple> questions = queryFactory
+                .select(question.analysis.id, question.questionContent)
+                .from(question)
+                .where(question.analysis.id.in(summaryById.keySet()))
+                .orderBy(question.id.asc())
+                .fetch();
+
+        for (Tuple row : questions) {
+            summaryById.get(row.get(question.analysis.id))
+                    .addQuestionContent(row.get(question.questionContent));
+        }
+    }
+
+    private BooleanExpression userEq(User user) {
+        return analysis.user.id.eq(user.getId());
+    }
+
+    private BooleanExpression cursorLt(LocalDateTime cursorTime, Long cursorId) {
+        if (cursorTime == null || cursorId == null) {
+            return null;
+        }
+        return analysis.createdTime.lt(cursorTime)
+                .or(analysis.createdTime.eq(cursorTime).and(analysis.id.lt(cursorId)));
+    }
 }
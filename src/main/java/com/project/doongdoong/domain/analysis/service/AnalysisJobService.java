@@ -0,0 +1,10 @@
+package com.project.doongdoong.domain.analysis.service;
+
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisJobResponse;
+
+public interface AnalysisJobService {
+
+    public AnalysisJobResponse requestAnalyzeEmotion(Long analysisId, String uniqueValue);
+
+    public AnalysisJobResponse getAnalysisJob(Long analysisId, String uniqueValue);
+}
@@ -0,0 +1,163 @@
+package com.project.doongdoong.domain.analysis.service;
+
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisJobResponse;
+import com.project.doongdoong.domain.analysis.exception.AllAnswersNotFoundException;
+import com.project.doongdoong.domain.analysis.exception.AlreadyAnalyzedException;
+import com.project.doongdoong.domain.analysis.exception.AnalysisAccessDeny;
+import com.project.doongdoong.domain.analysis.exception.AnalysisJobConflictException;
+import com.project.doongdoong.domain.analysis.exception.AnalysisJobRejectedException;
+import com.project.doongdoong.domain.analysis.exception.AnalysisNotFoundException;
+import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.analysis.model.AnalysisStatus;
+import com.project.doongdoong.domain.analysis.repository.AnalysisRepository;
+import com.project.doongdoong.domain.user.service.UserIdentityResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.*;
+
+import static com.project.doongdoong.domain.answer.service.AnswerServiceImp.MAX_ANSWER_COUNT;
+
+/**
+ * 감정 분석을 작업(job)으로 처리하는 서비스
+ * 요청 스레드(톰캣)와 분리된 고정 크기 작업 풀에서 분석을 실행하고, 진행 상태는 Analysis.analysisStatus에 기록한다.
+ * 작업 id는 analysisId를 그대로 사용한다.
+ * 작업 풀은 메모리에만 있으므로 서버가 종료되면 대기 중인 작업이 사라진다.
+ * 상태를 바꿀 때마다 lease 시각을 남기고, lease 가 끝난 QUEUED/RUNNING 은 시작 시 FAILED 로 되돌리거나 다시 요청할 수 있게 한다.
+ */
+@Service @Slf4j
+@RequiredArgsConstructor
+public class AnalysisJobServiceImp implements AnalysisJobService {
+
+    private final AnalysisRepository analysisRepository;
+    private final AnalysisService analysisService;
+    private final UserIdentityResolver userIdentityResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${analysis.job.pool-size:4}")
+    private int poolSize; // 동시에 실행되는 분석 작업 수
+    @Value("${analysis.job.queue-capacity:100}")
+    private int queueCapacity; // 대기 가능한 분석 작업 수, 초과 시 요청 거절
+    @Value("${analysis.job.lease-seconds:600}")
+    private long leaseSeconds; // 분석 1건의 최대 소요 시간(lambda 재시도 포함)보다 길게
+    @Value("${analysis.job.shutdown-await-seconds:30}")
+    private long shutdownAwaitSeconds;
+
+    private ExecutorService analysisJobExecutor;
+
+    @PostConstruct
+    protected void init() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("analysis-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.analysisJobExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "analysis.job");
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        analysisJobExecutor.shutdown();
+        try {
+            if (!analysisJobExecutor.awaitTermination(shutdownAwaitSeconds, TimeUnit.SECONDS)) { // 실행 중인 작업이 끝날 때까지 대기
+                log.warn("분석 작업 종료 대기 시간 초과, 남은 작업 수 = {}", analysisJobExecutor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            analysisJobExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverStaleJobs() { // 이전 종료 때 끝나지 못한 작업, 다른 서버의 진행 중인 작업은 lease 가 남아 있어 건드리지 않음
+        LocalDateTime now = LocalDateTime.now();
+        Integer recovered = transactionTemplate.execute(status -> analysisRepository.updateStaleJobsToFailed(AnalysisStatus.QUEUED
+                , AnalysisStatus.RUNNING, AnalysisStatus.FAILED, now, now.minusSeconds(leaseSeconds)));
+        if (recovered != null && recovered > 0) {
+            log.warn("중단된 분석 작업 FAILED 처리 count = {}", recovered);
+        }
+    }
+
+    @Override
+    public AnalysisJobResponse requestAnalyzeEmotion(Long analysisId, String uniqueValue) {
+        transactionTemplate.executeWithoutResult(status -> markQueued(analysisId, uniqueValue)); // 작업 실행 전에 대기 상태 커밋
+
+        try {
+            analysisJobExecutor.execute(() -> runAnalyzeEmotion(analysisId, uniqueValue));
+        } catch (RejectedExecutionException e) {
+            log.warn("분석 작업 대기열 초과 analysisId = {}", analysisId);
+            changeStatus(analysisId, AnalysisStatus.FAILED);
+            throw new AnalysisJobRejectedException();
+        }
+
+        return AnalysisJobResponse.builder()
+                .jobId(analysisId)
+                .status(AnalysisStatus.QUEUED.name())
+                .build();
+    }
+
+    private void markQueued(Long analysisId, String uniqueValue) {
+        Analysis findAnalysis = analysisRepository.searchAnalysisWithVoiceOfAnswer(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+        checkOwner(findAnalysis, uniqueValue);
+        if(findAnalysis.getAnswers().size() != MAX_ANSWER_COUNT){
+            throw new AllAnswersNotFoundException();
+        }
+        if(findAnalysis.getAnalyzeTime() != null){
+            throw new AlreadyAnalyzedException();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updatedCount = analysisRepository.updateAnalysisStatusToQueued(analysisId, AnalysisStatus.QUEUED, AnalysisStatus.RUNNING
+                , AnalysisStatus.FAILED, now, now.minusSeconds(leaseSeconds));
+        if(updatedCount == 0){ // 이미 대기 중이거나 분석 중인 경우
+            throw new AnalysisJobConflictException();
+        }
+    }
+
+    private void runAnalyzeEmotion(Long analysisId, String uniqueValue) {
+        changeStatus(analysisId, AnalysisStatus.RUNNING);
+        try {
+            analysisService.analyzeQueuedEmotion(analysisId, uniqueValue).block(); // 작업 풀 스레드에서 대기, 완료 시 DONE 으로 변경됨
+        } catch (RuntimeException e) {
+            log.error("감정 분석 작업 실패 analysisId = {}, message = {}", analysisId, e.getMessage());
+            changeStatus(analysisId, AnalysisStatus.FAILED);
+        }
+    }
+
+    private void changeStatus(Long analysisId, AnalysisStatus analysisStatus) {
+        transactionTemplate.executeWithoutResult(status -> analysisRepository.findById(analysisId)
+                .filter(analysis -> analysis.getAnalyzeTime() == null) // 다른 요청이 이미 분석을 끝낸 경우 DONE 유지
+                .ifPresent(analysis -> analysis.changeAnalysisStatus(analysisStatus)));
+    }
+
+    private void checkOwner(Analysis analysis, String uniqueValue) {
+        Long userId = userIdentityResolver.resolveUserId(uniqueValue);
+        if(!analysis.getUser().getId().equals(userId)){
+            throw new AnalysisAccessDeny();
+        }
+    }
+
+    @Override
+    public AnalysisJobResponse getAnalysisJob(Long analysisId, String uniqueValue) {
+        Analysis findAnalysis = analysisRepository.findById(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+        checkOwner(findAnalysis, uniqueValue);
+        AnalysisStatus analysisStatus = findAnalysis.getAnalysisStatus();
+
+        return AnalysisJobResponse.builder()
+                .jobId(findAnalysis.getId())
+                .status(analysisStatus != null ? analysisStatus.name() : null)
+                .feelingState(analysisStatus == AnalysisStatus.DONE ? findAnalysis.getFeelingState() : null)
+                .build();
+    }
+}
@@ -1,6 +1,9 @@
 package com.project.doongdoong.domain.analysis.service;
 
 import com.project.doongdoong.domain.analysis.dto.response.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 
 public interface AnalysisService {
 
@@ -8,11 +11,18 @@ public interface AnalysisService {
 
     public AnalysisDetailResponse getAnalysis(Long analysisId);
 
-    public AnaylsisListResponseDto getAnalysisList(String uniqueValue, int pageNumber);
+    public AnaylsisListResponseDto getAnalysisList(String uniqueValue, int pageNumber, boolean withTotal);
+
+    public AnalysisCursorListResponseDto getAnalysisListByCursor(String uniqueValue, LocalDateTime cursorTime, Long cursorId);
 
     public FeelingStateResponseListDto getAnalysisListGroupByDay(String uniqueValue);
 
-    public FellingStateCreateResponse analyzeEmotion(Long analysisId, String uniqueValue);
+    public FeelingStateTrendResponse getFeelingStateTrend(String uniqueValue, String unit, int days, int window);
+
+    public Mono<FellingStateCreateResponse> analyzeEmotion(Long analysisId, String uniqueValue);
+
+    // 분석 작업 풀에서 호출, 대기/진행 상태 검사 없이 분석
+    public Mono<FellingStateCreateResponse> analyzeQueuedEmotion(Long analysisId, String uniqueValue);
 
     public void removeAnaylsis(Long analysisId);
 }
@@ -3,9 +3,14 @@ package com.project.doongdoong.domain.analysis.service;
 import com.project.doongdoong.domain.analysis.dto.response.*;
 import com.project.doongdoong.domain.analysis.exception.AllAnswersNotFoundException;
 import com.project.doongdoong.domain.analysis.exception.AlreadyAnalyzedException;
+import com.project.doongdoong.domain.analysis.exception.AnalysisAccessDeny;
+import com.project.doongdoong.domain.analysis.exception.AnalysisJobConflictException;
 import com.project.doongdoong.domain.analysis.exception.AnalysisNotFoundException;
 import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.analysis.model.AnalysisStatus;
+import com.project.doongdoong.domain.analysis.model.TrendUnit;
 import com.project.doongdoong.domain.analysis.repository.AnalysisRepository;
+import com.project.doongdoong.domain.analysis.repository.DailyFeelingStateRepository;
 import com.project.doongdoong.domain.answer.model.Answer;
 import com.project.doongdoong.domain.question.model.Question;
 import com.project.doongdoong.domain.question.model.QuestionContent;
@@ -14,22 +19,31 @@ import com.project.doongdoong.domain.user.exeception.UserNotFoundException;
 import com.project.doongdoong.domain.user.model.SocialType;
 import com.project.doongdoong.domain.user.model.User;
 import com.project.doongdoong.domain.user.repository.UserRepository;
+import com.project.doongdoong.domain.user.service.UserIdentityResolver;
 import com.project.doongdoong.domain.voice.model.Voice;
-import com.project.doongdoong.domain.voice.repository.VoiceRepository;
+import com.project.doongdoong.domain.voice.service.QuestionVoiceUrlCache;
 import com.project.doongdoong.domain.voice.service.VoiceService;
+import com.project.doongdoong.global.exception.servererror.ExternalApiUnavailableException;
+import com.project.doongdoong.global.cache.LayeredCache;
 import com.project.doongdoong.global.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.project.doongdoong.domain.answer.service.AnswerServiceImp.MAX_ANSWER_COUNT;
@@ -39,25 +53,36 @@ import static com.project.doongdoong.domain.answer.service.AnswerServiceImp.MAX_
 @Transactional(readOnly = true)
 public class AnalysisServiceImp implements AnalysisService{
 
-    private final VoiceRepository voiceRepository;
+    private final QuestionVoiceUrlCache questionVoiceUrlCache;
+    private final UserIdentityResolver userIdentityResolver;
     private final UserRepository userRepository;
     private final AnalysisRepository analsisRepository;
+    private final DailyFeelingStateRepository dailyFeelingStateRepository;
+    private final FeelingStateTrendCache feelingStateTrendCache;
     private final QuestionService questionService;
     private final VoiceService voiceService;
     private final WebClientUtil webClientUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler jdbcScheduler;
+    private final LayeredCache<AnalysisDetailResponse> analysisDetailCache;
+
+    @Value("${analysis.job.lease-seconds:600}")
+    private long jobLeaseSeconds; // 이 시간보다 오래된 QUEUED/RUNNING 은 중단된 작업으로 봄
+    @Value("${analysis.lambda.total-timeout-millis:200000}")
+    private long lambdaTotalTimeoutMillis; // 텍스트, 음성 lambda 재시도까지 포함한 전체 대기 시간, 비동기 요청 타임아웃(WebMvcConfig)보다 짧게
 
     private final static int ANALYSIS_PAGE_SIZE = 10;
     private final static double ANALYSIS_VOICE_RATE = 0.65;
     private final static double ANALYSIS_TEXT_RATE = 0.35;
     private final static String DEFAULT_NO_ANSWER_MESSAGE = "질문에 대한 답변이 없습니다.";
     private final static String DEFAULT_DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm";
+    private final static String DAILY_DATE_FORMAT = "yyyy-M-d";
+    private final static String TREND_DATE_FORMAT = "yyyy-MM-dd";
 
     @Transactional
     @Override //        추가적으로 사용자 정보가 있어야 함.
     public AnalysisCreateResponseDto createAnalysis(String uniqueValue) {
-        String[] values = parseUniqueValue(uniqueValue); // 사용자 정보 찾기
-        User user = userRepository.findBySocialTypeAndSocialId(SocialType.customValueOf(values[1]), values[0])
-                .orElseThrow(() -> new UserNotFoundException());
+        User user = userIdentityResolver.resolveUserReference(uniqueValue); // 사용자 정보 찾기
 
         List<Question> questions = questionService.createQuestions(); // 질문 가져오기
         Analysis analysis = Analysis.builder()
@@ -71,8 +96,7 @@ public class AnalysisServiceImp implements AnalysisService{
             Question question = questions.get(i);
             question.connectAnalysis(analysis); // 연관관계 편의 메서드
 
-            Optional<Voice> voice = voiceRepository.findVoiceByQuestionContent(question.getQuestionContent());
-            accessUrls.add(voice.get().getAccessUrl());
+            accessUrls.add(questionVoiceUrlCache.getAccessUrl(question.getQuestionContent()).get());
             questionTexts.add(question.getQuestionContent().getText());
 
         } // ConcurrentModificationException 으로 인해 for문 사용
@@ -96,34 +120,41 @@ public class AnalysisServiceImp implements AnalysisService{
 
     @Override
     public AnalysisDetailResponse getAnalysis(Long analysisId) {
-        Analysis findAnalysis = analsisRepository.findById(analysisId).orElseThrow(() -> new AnalysisNotFoundException()); // fetch join으로 최적화 필요
-        List<Question> questions = findAnalysis.getQuestions();
-        // questions에 해당하는 answers 가져오기
+        return analysisDetailCache.get(analysisId, () -> loadAnalysisDetail(analysisId)); // 분석 결과 저장, 삭제 시 캐시 삭제
+    }
 
-        List<QuestionContent> questionContents = extractQuestionContentsBy(questions);
-        List<String> questionTexts = extractQuestionTextBy(questionContents);
-        List<Long> questionIds = questions.stream().map(question -> question.getId()).collect(Collectors.toList());
+    private AnalysisDetailResponse loadAnalysisDetail(Long analysisId) {
+        List<AnalysisQuestionDetailDto> rows = analsisRepository.searchAnalysisDetail(analysisId); // 질문, 답변을 한 번에 조회
+        if(rows.isEmpty()){
+            throw new AnalysisNotFoundException();
+        }
+        List<AnalysisQuestionDetailDto> questionRows = rows.stream()
+                .filter(row -> row.getQuestionId() != null) // 질문이 없는 분석
+                .collect(Collectors.toList());
 
-        List<Voice> findVoices = voiceRepository.findVoiceAllByQuestionContentIn(questionContents);
+        List<QuestionContent> questionContents = questionRows.stream()
+                .map(AnalysisQuestionDetailDto::getQuestionContent)
+                .collect(Collectors.toList());
+        List<String> questionTexts = extractQuestionTextBy(questionContents);
+        List<Long> questionIds = questionRows.stream().map(AnalysisQuestionDetailDto::getQuestionId).collect(Collectors.toList());
 
-        Map<QuestionContent, String> voiceMap = mapVoiceToQuestionInformation(findVoices);
         List<String> questionVoiceAccessUrls = questionContents.stream()
-                .map(key -> voiceMap.get(key))
+                .map(key -> questionVoiceUrlCache.getAccessUrl(key).orElse(null))
                 .collect(Collectors.toList());
 
-        List<String> answerContents = questions.stream()
-                .map(question -> Optional.ofNullable(question.getAnswer())
-                        .map(answer -> answer.getContent())
+        List<String> answerContents = questionRows.stream()
+                .map(row -> Optional.ofNullable(row.getAnswerContent())
                         .orElse(DEFAULT_NO_ANSWER_MESSAGE))
                 .collect(Collectors.toList());
 
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DEFAULT_DATE_TIME_FORMAT);
+        AnalysisQuestionDetailDto analysisRow = rows.get(0);
 
         return AnalysisDetailResponse.builder()
-                .analysisId(findAnalysis.getId())
-                .time(findAnalysis.getCreatedTime().format(formatter))
-                .feelingState(findAnalysis.getFeelingState())
+                .analysisId(analysisRow.getAnalysisId())
+                .time(analysisRow.getCreatedTime().format(formatter))
+                .feelingState(analysisRow.getFeelingState())
                 .questionIds(questionIds)
                 .questionContent(questionTexts)
                 .questionContentVoiceUrls(questionVoiceAccessUrls)
@@ -131,15 +162,6 @@ public class AnalysisServiceImp implements AnalysisService{
                 .build();
     }
 
-    private static Map<QuestionContent, String> mapVoiceToQuestionInformation(List<Voice> findVoices) {
-        return findVoices.stream()
-                .collect(Collectors.toMap(
-                        Voice::getQuestionContent,
-                        Voice::getAccessUrl,
-                        (existing, replacement) -> existing
-                ));
-    }
-
     private static List<String> extractQuestionTextBy(List<QuestionContent> questionContents) {
         List<String> questionTexts = questionContents.stream()
                 .map(questionContent -> questionContent.getText())
@@ -147,35 +169,54 @@ public class AnalysisServiceImp implements AnalysisService{
         return questionTexts;
     }
 
-    private static List<QuestionContent> extractQuestionContentsBy(List<Question> questions) {
-        List<QuestionContent> questionContents = questions.stream()
-                .map(question -> question.getQuestionContent())
-                .collect(Collectors.toList());
-        return questionContents;
-    }
-
     @Override
-    public AnaylsisListResponseDto getAnalysisList(String uniqueValue, int pageNumber) {
-        String[] values = parseUniqueValue(uniqueValue);
-        User user = userRepository.findBySocialTypeAndSocialId(SocialType.customValueOf(values[1]), values[0])
-                .orElseThrow(() -> new UserNotFoundException());
+    public AnaylsisListResponseDto getAnalysisList(String uniqueValue, int pageNumber, boolean withTotal) {
+        User user = userIdentityResolver.resolveUserReference(uniqueValue); // 사용자 id 만 필요
 
         PageRequest pageable = PageRequest.of(pageNumber, ANALYSIS_PAGE_SIZE);
-        Page<Analysis> analysisPages = analsisRepository.findAllByUserOrderByCreatedTime(user, pageable);
+        Page<AnalysisSummaryDto> analysisPages = analsisRepository.searchPageAnalysisList(user, pageable, withTotal);
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DEFAULT_DATE_TIME_FORMAT);
 
 
         return AnaylsisListResponseDto.builder()
                 .pageNumber(analysisPages.getNumber() + 1)
-                .totalPage(analysisPages.getTotalPages())
+                .totalPage(withTotal ? analysisPages.getTotalPages() : null)
+                .hasNext(analysisPages.hasNext())
                 .anaylsisResponseDtoList(analysisPages.getContent().stream()
                         .map(analysis -> AnaylsisResponseDto.builder()
-                                .analysisId(analysis.getId())
+                                .analysisId(analysis.getAnalysisId())
                                 .time(analysis.getCreatedTime().format(formatter))
                                 .feelingState(analysis.getFeelingState())
-                                .questionContent(analysis.getQuestions().stream()
-                                        .map(a -> a.getQuestionContent().getText())
+                                .questionContent(analysis.getQuestionContents().stream()
+                                        .map(QuestionContent::getText)
+                                        .collect(Collectors.toList()))
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Override
+    public AnalysisCursorListResponseDto getAnalysisListByCursor(String uniqueValue, LocalDateTime cursorTime, Long cursorId) {
+        User user = userIdentityResolver.resolveUserReference(uniqueValue); // 사용자 id 만 필요
+
+        Slice<AnalysisSummaryDto> analysisSlice = analsisRepository.searchAnalysisListByCursor(user, cursorTime, cursorId, ANALYSIS_PAGE_SIZE);
+        List<AnalysisSummaryDto> content = analysisSlice.getContent();
+        AnalysisSummaryDto last = analysisSlice.hasNext() ? content.get(content.size() - 1) : null; // 다음 커서
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DEFAULT_DATE_TIME_FORMAT);
+
+        return AnalysisCursorListResponseDto.builder()
+                .hasNext(analysisSlice.hasNext())
+                .nextCursorTime(last == null ? null : last.getCreatedTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .nextCursorId(last == null ? null : last.getAnalysisId())
+                .anaylsisResponseDtoList(content.stream()
+                        .map(analysis -> AnaylsisResponseDto.builder()
+                                .analysisId(analysis.getAnalysisId())
+                                .time(analysis.getCreatedTime().format(formatter))
+                                .feelingState(analysis.getFeelingState())
+                                .questionContent(analysis.getQuestionContents().stream()
+                                        .map(QuestionContent::getText)
                                         .collect(Collectors.toList()))
                                 .build())
                         .collect(Collectors.toList()))
@@ -184,18 +225,18 @@ public class AnalysisServiceImp implements AnalysisService{
 
     @Override
     public FeelingStateResponseListDto getAnalysisListGroupByDay(String uniqueValue) {
-        String[] values = parseUniqueValue(uniqueValue);
-        User user = userRepository.findBySocialTypeAndSocialId(SocialType.customValueOf(values[1]), values[0])
-                .orElseThrow(() -> new UserNotFoundException());
+        User user = userIdentityResolver.resolveUserReference(uniqueValue); // 사용자 id 만 필요
 
-        Optional<Analysis> analysis = analsisRepository.findFirstByUserOrderByAnalyzeTimeDesc(user);
+        LocalDate lastAnalyzeDate = dailyFeelingStateRepository.findLastAnalyzeDate(user.getId()); // 가장 최근 분석일 기준
         List<FeelingStateResponseDto> result = null;
-        if(analysis.isPresent())
+        if(lastAnalyzeDate != null)
         {
-            Analysis findAnalysis = analysis.get();
-            LocalDateTime endTime = findAnalysis.getCreatedTime().plusDays(1).truncatedTo(ChronoUnit.DAYS);
-            LocalDateTime startTime = endTime.minusDays(6).truncatedTo(ChronoUnit.DAYS);
-            result = analsisRepository.findAllByDateBetween(user, startTime.toLocalDate(), endTime.toLocalDate());
+            LocalDate endDate = lastAnalyzeDate.plusDays(1);
+            LocalDate startDate = endDate.minusDays(6);
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DAILY_DATE_FORMAT);
+            result = dailyFeelingStateRepository.findAllByUserIdAndDateBetween(user.getId(), startDate, endDate).stream()
+                    .map(daily -> new FeelingStateResponseDto(daily.getAnalyzeDate().format(formatter), daily.getAvgFeelingState()))
+                    .collect(Collectors.toList());
         }
 
         return FeelingStateResponseListDto.builder()
@@ -203,24 +244,97 @@ public class AnalysisServiceImp implements AnalysisService{
                 .build();
     }
 
-    @Transactional
     @Override
-    public FellingStateCreateResponse analyzeEmotion(Long analysisId, String uniqueValue) {
+    public FeelingStateTrendResponse getFeelingStateTrend(String uniqueValue, String unit, int days, int window) {
+        User user = userIdentityResolver.resolveUserReference(uniqueValue); // 사용자 id 만 필요
+        TrendUnit trendUnit = TrendUnit.from(unit);
+        int trendDays = Math.min(Math.max(days, 1), FeelingStateTrendCache.MAX_TREND_DAYS);
+        int movingWindow = Math.max(window, 1);
+
+        LocalDate today = LocalDate.now();
+        FeelingStateTimeSeries series = feelingStateTrendCache.getSeries(user.getId(), today); // 분석 엔티티 대신 일자별 원시 배열 사용
+
+        // 1. 구간별 합계, 횟수, 첫 구간은 조회 시작일부터, 마지막 구간은 오늘까지만 집계
+        LocalDate startDate = today.minusDays(trendDays - 1);
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        for(LocalDate bucketStart = trendUnit.bucketStartOf(startDate);
+            !bucketStart.isAfter(today); bucketStart = trendUnit.nextBucketStartOf(bucketStart)){
+            bucketStarts.add(bucketStart);
+        }
+        double[] bucketSums = new double[bucketStarts.size()];
+        int[] bucketCounts = new int[bucketStarts.size()];
+        boolean[] bucketPartials = new boolean[bucketStarts.size()];
+        for(int i=0; i<bucketStarts.size(); i++){
+            LocalDate nextBucketStart = trendUnit.nextBucketStartOf(bucketStarts.get(i));
+            bucketPartials[i] = bucketStarts.get(i).isBefore(startDate) || nextBucketStart.isAfter(today.plusDays(1));
+            if(bucketStarts.get(i).isBefore(startDate)){ // 조회 기간 밖의 일자는 제외
+                bucketStarts.set(i, startDate);
+            }
+            long endEpochDay = Math.min(nextBucketStart.toEpochDay(), today.toEpochDay() + 1);
+            for(long epochDay = bucketStarts.get(i).toEpochDay(); epochDay < endEpochDay; epochDay++){
+                bucketSums[i] += series.sumOf(epochDay);
+                bucketCounts[i] += series.countOf(epochDay);
+            }
+        }
+
+        // 2. 구간 평균, 이동 평균(최근 window 개 구간의 분석 전체 평균)
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(TREND_DATE_FORMAT);
+        List<FeelingStateTrendDto> trends = new ArrayList<>();
+        double windowSum = 0;
+        int windowCount = 0;
+        for(int i=0; i<bucketStarts.size(); i++){
+            windowSum += bucketSums[i];
+            windowCount += bucketCounts[i];
+            if(i >= movingWindow){
+                windowSum -= bucketSums[i - movingWindow];
+                windowCount -= bucketCounts[i - movingWindow];
+            }
+            trends.add(FeelingStateTrendDto.builder()
+                    .date(bucketStarts.get(i).format(formatter))
+                    .avgFeelingState(bucketCounts[i] == 0 ? null : bucketSums[i] / bucketCounts[i])
+                    .analysisCount(bucketCounts[i])
+                    .movingAvgFeelingState(windowCount == 0 ? null : windowSum / windowCount)
+                    .partial(bucketPartials[i])
+                    .build());
+        }
+
+        return FeelingStateTrendResponse.builder()
+                .unit(trendUnit.name())
+                .window(movingWindow)
+                .trends(trends)
+                .build();
+    }
+
+    @Override
+    public Mono<FellingStateCreateResponse> analyzeEmotion(Long analysisId, String uniqueValue) {
+        return analyzeEmotion(analysisId, uniqueValue, false);
+    }
+
+    @Override
+    public Mono<FellingStateCreateResponse> analyzeQueuedEmotion(Long analysisId, String uniqueValue) {
+        return analyzeEmotion(analysisId, uniqueValue, true);
+    }
+
+    private Mono<FellingStateCreateResponse> analyzeEmotion(Long analysisId, String uniqueValue, boolean isQueuedJob) {
         String[] values = parseUniqueValue(uniqueValue);
 
         LocalDateTime now = LocalDate.now().atStartOfDay();
         log.info("now = {}", now);
         User user = userRepository.findBySocialTypeAndSocialIdWithAnalysisToday(SocialType.customValueOf(values[1]), values[0], now)
                 .orElseThrow(() -> new UserNotFoundException());
-
-        if(checkFirstGrowthToday(user)){
-            user.growUp();
-        }
+        boolean isFirstGrowthToday = checkFirstGrowthToday(user);
+        Long userId = user.getId();
 
         Analysis findAnalysis = analsisRepository.searchAnalysisWithVoiceOfAnswer(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+        if(!findAnalysis.getUser().getId().equals(userId)){
+            throw new AnalysisAccessDeny();
+        }
         List<Voice> voices = findAnalysis.getAnswers().stream() // 1. 분석에 대한 답변 매칭 파일 리스트 가져오기
                 .map(answer -> answer.getVoice())
                 .collect(Collectors.toList());
+        List<Long> answerIds = findAnalysis.getAnswers().stream() // lambda 결과는 voices 순서, 저장 시 답변 id 로 매칭
+                .map(Answer::getId)
+                .collect(Collectors.toList());
 
         if(isAllAnswerdBy(voices)){ //만약 모든 질문에 대한 답변이 없는 경우, 답변이 부족하다는 예외 발생
             throw new AllAnswersNotFoundException();
@@ -228,13 +342,38 @@ public class AnalysisServiceImp implements AnalysisService{
         if (isAlreadyAnalyzed(findAnalysis)) { // 분석은 1번만 가능
             throw new AlreadyAnalyzedException();
         }
+        if (!isQueuedJob && isJobInProgress(findAnalysis)) { // 분석 작업이 대기 중이거나 실행 중이면 동기 분석 거절
+            throw new AnalysisJobConflictException();
+        }
 
-        List<FellingStateCreateResponse> responseByText = webClientUtil.callAnalyzeEmotion(voices); // 2. 파일을 request 값으로 외부 lambda API 비동기 처리(동일한 외부 API 4번 호출)
-        List<FellingStateCreateResponse> responseByVoice = webClientUtil.callAnalyzeEmotionVoice(voices);
+        // 2. 트랜잭션 밖에서 텍스트, 음성 분석 lambda API를 동시에 호출 -> 응답 대기 동안 요청 스레드와 DB 커넥션을 점유하지 않음
+        return Mono.zip(webClientUtil.callAnalyzeEmotion(voices), webClientUtil.callAnalyzeEmotionVoice(voices))
+                .timeout(Duration.ofMillis(lambdaTotalTimeoutMillis), Mono.error(ExternalApiUnavailableException::new)) // 저장 전 단계만 제한 -> 저장 도중 취소되지 않음
+                .publishOn(jdbcScheduler) // 3. 결과 저장은 netty 스레드가 아닌 별도 스케줄러에서 짧은 트랜잭션으로 처리
+                .map(responses -> transactionTemplate.execute(status ->
+                        saveAnalyzeResult(analysisId, userId, isFirstGrowthToday, answerIds, responses.getT1(), responses.getT2())));
+    }
 
-        List<Answer> answers = findAnalysis.getAnswers();
+    private FellingStateCreateResponse saveAnalyzeResult(Long analysisId, Long userId, boolean isFirstGrowthToday, List<Long> answerIds
+            , List<FellingStateCreateResponse> responseByText, List<FellingStateCreateResponse> responseByVoice) {
+        // 조건부 update 로 결과 저장 권한 선점 -> 동기 요청과 분석 작업이 겹쳐도 하나만 저장, 나머지는 행 잠금 해제 후 0건
+        if (analsisRepository.updateAnalysisStatusToDone(analysisId, AnalysisStatus.DONE) == 0) { // lambda 호출 중 다른 요청이 먼저 분석을 끝낸 경우
+            throw new AlreadyAnalyzedException();
+        }
+        if(isFirstGrowthToday){
+            userRepository.findById(userId).ifPresent(user -> user.growUp());
+        }
+
+        Analysis findAnalysis = analsisRepository.searchAnalysisWithVoiceOfAnswer(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+
+        Map<Long, Answer> answersById = findAnalysis.getAnswers().stream() // 다시 조회한 답변 목록의 순서에 의존하지 않음
+                .collect(Collectors.toMap(Answer::getId, Function.identity()));
         for(int i=0; i<responseByText.size(); i++){
-            answers.get(i).changeContent(responseByText.get(i).getTranscribedText());
+            Answer answer = answersById.get(answerIds.get(i));
+            if(answer == null){ // lambda 호출 중 답변이 바뀐 경우
+                throw new AllAnswersNotFoundException();
+            }
+            answer.changeContent(responseByText.get(i).getTranscribedText());
         }
 
         double resultByText = caluateFellingStatusAverage(responseByText);
@@ -242,6 +381,9 @@ public class AnalysisServiceImp implements AnalysisService{
         double result = ANALYSIS_TEXT_RATE * resultByText + ANALYSIS_VOICE_RATE * resultByVoice;
 
         findAnalysis.changeFeelingStateAndAnalyzeTime(result, LocalDate.now());
+        findAnalysis.changeAnalysisStatus(AnalysisStatus.DONE); // 영속성 컨텍스트의 엔티티에도 반영, 전체 컬럼 update 시 덮어쓰지 않도록
+        analsisRepository.save(findAnalysis); // 일자별 감정 수치 집계 이벤트 발행
+        analysisDetailCache.evict(analysisId); // 트랜잭션 종료 후에도 한 번 더 삭제
 
         return FellingStateCreateResponse.builder()
                 .feelingState(result)
@@ -263,6 +405,10 @@ public class AnalysisServiceImp implements AnalysisService{
         return findAnalysis.getAnalyzeTime() != null ? true : false;
     }
 
+    private boolean isJobInProgress(Analysis findAnalysis) {
+        return findAnalysis.isJobInProgress(LocalDateTime.now().minusSeconds(jobLeaseSeconds));
+    }
+
     private boolean checkFirstGrowthToday(User user) {
         List<Analysis> list = user.getAnalysisList().stream()
                 .filter(analysis ->   LocalDate.now().equals(analysis.getAnalyzeTime()))
@@ -273,18 +419,21 @@ public class AnalysisServiceImp implements AnalysisService{
     @Transactional
     @Override
     public void removeAnaylsis(Long analysisId) {
-        // anlaysis와 관련된 answer의 voice에 해당하는 S3 파일 삭제 로직
+        // anlaysis와 관련된 answer의 voice 삭제 로직, S3 파일은 커밋된 outbox 를 통해 비동기 삭제
         Analysis findAnalysis = analsisRepository.searchAnalysisWithVoiceOfAnswer(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
-        List<String> accessUrls = findAnalysis.getAnswers().stream()
-                .map(answer -> answer.getVoice().getAccessUrl())
+        List<Voice> voices = findAnalysis.getAnswers().stream()
+                .map(answer -> answer.getVoice())
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
         if(findAnalysis.getAnswers().size() != 0){
             findAnalysis.getAnswers().stream().forEach(answer -> answer.disconnectWithVoice()); // 연관관계 끊기
-            voiceService.deleteVoices(accessUrls); // voice를 참조하는 객체 없으므로 삭제 가능 -> 벌크 삭제로 쿼리 최적화 필요
+            voiceService.deleteAllVoices(voices); // 이미 fetch 된 voice 를 id 로 벌크 삭제, url 재조회 없음
         }
 
-        analsisRepository.deleteById(analysisId); // analysis 삭제로 question, answer 삭제 로직 -> voiceService.deleteVoices로 answer.voice와 관련 S3 파일은 이미 삭제.
+        findAnalysis.excludeFromDailyFeelingState();
+        analsisRepository.delete(findAnalysis); // analysis 삭제로 question, answer 삭제 로직 -> answer.voice 는 이미 삭제, S3 파일은 커밋 후 outbox worker 가 삭제.
+        analysisDetailCache.evict(analysisId);
     }
 
 
@@ -0,0 +1,77 @@
+package com.project.doongdoong.domain.analysis.service;
+
+import com.project.doongdoong.domain.analysis.event.DailyFeelingStateChangedEvent;
+import com.project.doongdoong.domain.analysis.model.DailyFeelingState;
+import com.project.doongdoong.domain.analysis.repository.DailyFeelingStateRepository;
+import com.project.doongdoong.domain.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 일자별 감정 수치 집계 갱신
+ * Analysis 의 도메인 이벤트를 같은 트랜잭션 안에서 반영하므로 분석 결과와 집계가 함께 커밋, 롤백된다.
+ * 같은 사용자의 같은 일자 첫 분석이 동시에 저장되면 unique 제약 위반으로 분석 트랜잭션이 롤백되므로,
+ * 증가(저장) 시에는 사용자 row 를 먼저 잠가서 (update -> 없으면 insert) 를 사용자 단위로 직렬화한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyFeelingStateRollup {
+
+    private static final int BACKFILL_MAX_ATTEMPTS = 3;
+
+    private final DailyFeelingStateRepository dailyFeelingStateRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${analysis.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @EventListener
+    public void accumulate(DailyFeelingStateChangedEvent event) {
+        if (event.getCountDelta() > 0) { // insert 가 일어날 수 있는 경우만 잠금, 감소(삭제)는 기존 row update 만 함
+            userRepository.findByIdForUpdate(event.getUserId());
+        }
+        int updated = dailyFeelingStateRepository.accumulate(event.getUserId(), event.getAnalyzeDate()
+                , event.getFeelingStateDelta(), event.getCountDelta());
+        if (updated == 0 && event.getCountDelta() > 0) { // 해당 일자의 첫 분석
+            dailyFeelingStateRepository.save(DailyFeelingState.builder()
+                    .userId(event.getUserId())
+                    .analyzeDate(event.getAnalyzeDate())
+                    .feelingStateSum(event.getFeelingStateDelta())
+                    .analysisCount(event.getCountDelta())
+                    .build());
+        }
+    }
+
+    /**
+     * 테이블 단위가 아닌 (사용자, 일자) 단위로 판단한다.
+     * 이미 있는 row 는 분석 결과와 어긋난 경우만 다시 계산하고(도입 전 분석이 빠진 일자 등), 없는 row 는 새로 이관한다.
+     * 여러 서버가 동시에 시작해도 이관 쿼리는 이미 집계된 (사용자, 일자)를 건너뛰고,
+     * 커밋되지 않은 다른 insert 와 겹쳐 unique 제약을 위반하면 다시 실행해서 남은 일자만 이관한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        for (int attempt = 1; attempt <= BACKFILL_MAX_ATTEMPTS; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    int recomputed = dailyFeelingStateRepository.recomputeFromAnalysis();
+                    int inserted = dailyFeelingStateRepository.backfillFromAnalysis();
+                    log.info("일자별 감정 수치 집계 이관 recomputed = {}, inserted = {}", recomputed, inserted);
+                });
+                return;
+            } catch (DataIntegrityViolationException e) { // 다른 서버의 이관 또는 분석 저장과 같은 (사용자, 일자)를 동시에 insert
+                log.warn("일자별 감정 수치 집계 이관 충돌 attempt = {}, error = {}", attempt, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.doongdoong.domain.analysis.service;
+
+import com.project.doongdoong.domain.analysis.dto.response.DailyFeelingStateDto;
+
+import java.util.List;
+
+/**
+ * 사용자 1명의 일자별 감정 수치 합계, 분석 횟수를 epoch-day 로 인덱싱한 원시 타입 링 버퍼
+ * 일자 하나당 double 1개, int 1개만 사용하므로 1년치가 약 4KB
+ * 적재 이후에는 불변 -> 새 분석이 저장되면 캐시에서 버리고 다시 적재한다.
+ */
+class FeelingStateTimeSeries {
+
+    private final long lastEpochDay; // 적재 기준일(오늘)
+    private final int capacity;
+    private final double[] sums;
+    private final int[] counts;
+
+    FeelingStateTimeSeries(long lastEpochDay, int capacity, List<DailyFeelingStateDto> dailyFeelingStates) {
+        this.lastEpochDay = lastEpochDay;
+        this.capacity = capacity;
+        this.sums = new double[capacity];
+        this.counts = new int[capacity];
+        for (DailyFeelingStateDto daily : dailyFeelingStates) {
+            long epochDay = daily.getAnalyzeDate().toEpochDay();
+            if (contains(epochDay)) {
+                int index = indexOf(epochDay);
+                sums[index] += daily.getFeelingStateSum();
+                counts[index] += daily.getAnalysisCount();
+            }
+        }
+    }
+
+    long getLastEpochDay() {
+        return lastEpochDay;
+    }
+
+    long getFirstEpochDay() {
+        return lastEpochDay - capacity + 1;
+    }
+
+    boolean contains(long epochDay) {
+        return epochDay >= getFirstEpochDay() && epochDay <= lastEpochDay;
+    }
+
+    double sumOf(long epochDay) {
+        return contains(epochDay) ? sums[indexOf(epochDay)] : 0;
+    }
+
+    int countOf(long epochDay) {
+        return contains(epochDay) ? counts[indexOf(epochDay)] : 0;
+    }
+
+    private int indexOf(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) capacity);
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.doongdoong.domain.analysis.service;
+
+import com.project.doongdoong.domain.analysis.event.DailyFeelingStateChangedEvent;
+import com.project.doongdoong.domain.analysis.repository.DailyFeelingStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 감정 수치 시계열 캐시
+ * 처음 조회할 때 일자별 집계(DailyFeelingState)로 적재하고, 새 분석 결과가 커밋되거나 날짜가 바뀌면 다시 적재한다.
+ * 최근 조회한 사용자 순서로 최대 maxUsers 명만 유지(LRU)
+ * 적재 도중 무효화되면 적재한 값이 이전 값일 수 있으므로, 무효화 세대(generation)가 바뀌었으면 캐시에 넣지 않는다.
+ */
+@Component
+public class FeelingStateTrendCache {
+
+    public static final int MAX_TREND_DAYS = 366; // 1년 + 윤일
+
+    private final DailyFeelingStateRepository dailyFeelingStateRepository;
+    private final Map<Long, FeelingStateTimeSeries> seriesByUserId;
+    private final AtomicLong generation = new AtomicLong(); // 무효화될 때마다 증가
+
+    public FeelingStateTrendCache(DailyFeelingStateRepository dailyFeelingStateRepository
+            , @Value("${analysis.trend.cache-max-users:10000}") int maxUsers) {
+        this.dailyFeelingStateRepository = dailyFeelingStateRepository;
+        this.seriesByUserId = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, FeelingStateTimeSeries> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    FeelingStateTimeSeries getSeries(Long userId, LocalDate today) {
+        long todayEpochDay = today.toEpochDay();
+        FeelingStateTimeSeries series = seriesByUserId.get(userId);
+        if (series != null && series.getLastEpochDay() == todayEpochDay) {
+            return series;
+        }
+
+        long loadGeneration = generation.get();
+        LocalDate firstDate = today.minusDays(MAX_TREND_DAYS - 1);
+        FeelingStateTimeSeries loaded = new FeelingStateTimeSeries(todayEpochDay, MAX_TREND_DAYS
+                , dailyFeelingStateRepository.findAllByUserIdAndDateBetween(userId, firstDate, today));
+        synchronized (seriesByUserId) {
+            if (generation.get() == loadGeneration) { // 적재 중 무효화되지 않은 경우만 캐시
+                seriesByUserId.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // 커밋 이후에 비워야 커밋 전 값으로 다시 적재되지 않음
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidate(DailyFeelingStateChangedEvent event) {
+        synchronized (seriesByUserId) {
+            generation.incrementAndGet();
+            seriesByUserId.remove(event.getUserId());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.doongdoong.domain.answer.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class AnswerConfirmRequestDto {
+
+    @NotNull(message = "questionId는 필수 입력 값입니다.")
+    private Long questionId;
+    @NotBlank(message = "objectKey는 필수 입력 값입니다.")
+    private String objectKey;
+    @NotBlank(message = "filename은 필수 입력 값입니다.")
+    private String filename;
+
+    @Builder
+    public AnswerConfirmRequestDto(Long questionId, String objectKey, String filename) {
+        this.questionId = questionId;
+        this.objectKey = objectKey;
+        this.filename = filename;
+    }
+}
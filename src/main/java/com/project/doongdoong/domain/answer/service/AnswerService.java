@@ -1,11 +1,21 @@
 package com.project.doongdoong.domain.answer.service;
 
 
+import com.project.doongdoong.domain.answer.dto.AnswerConfirmRequestDto;
 import com.project.doongdoong.domain.answer.dto.AnswerCreateRequestDto;
 import com.project.doongdoong.domain.answer.dto.AnswerCreateResponseDto;
+import com.project.doongdoong.domain.voice.dto.response.VoiceUploadUrlResponseDto;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 public interface AnswerService {
     //public AnswerCreateResponseDto createAnswer(Long anaylsisId, MultipartFile multipartFile, AnswerCreateRequestDto dto);
     public AnswerCreateResponseDto createAnswer(Long anaylsisId, MultipartFile multipartFile, Long questionId);
+
+    public AnswerCreateResponseDto createAnswer(Long anaylsisId, String originalName, InputStream inputStream, long contentLength, Long questionId, String uniqueValue);
+
+    public VoiceUploadUrlResponseDto createAnswerUploadUrl(Long anaylsisId, Long questionId, String originalName, String uniqueValue); // 1. S3 직접 업로드 URL 발급
+
+    public AnswerCreateResponseDto confirmAnswer(Long anaylsisId, AnswerConfirmRequestDto dto, String uniqueValue); // 2. 업로드 확인 후 답변 저장
 }
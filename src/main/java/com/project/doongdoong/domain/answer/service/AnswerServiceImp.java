@@ -1,15 +1,19 @@
 package com.project.doongdoong.domain.answer.service;
 
+import com.project.doongdoong.domain.analysis.exception.AnalysisAccessDeny;
 import com.project.doongdoong.domain.analysis.exception.AnalysisNotFoundException;
 import com.project.doongdoong.domain.analysis.model.Analysis;
 import com.project.doongdoong.domain.analysis.repository.AnalysisRepository;
+import com.project.doongdoong.domain.answer.dto.AnswerConfirmRequestDto;
 import com.project.doongdoong.domain.answer.dto.AnswerCreateResponseDto;
 import com.project.doongdoong.domain.answer.exception.AnswerConflictException;
 import com.project.doongdoong.domain.answer.model.Answer;
 import com.project.doongdoong.domain.answer.repository.AnswerRepository;
 import com.project.doongdoong.domain.question.exception.NoMatchingQuestionException;
 import com.project.doongdoong.domain.question.model.Question;
+import com.project.doongdoong.domain.user.service.UserIdentityResolver;
 import com.project.doongdoong.domain.voice.dto.response.VoiceDetailResponseDto;
+import com.project.doongdoong.domain.voice.dto.response.VoiceUploadUrlResponseDto;
 import com.project.doongdoong.domain.voice.exception.VoiceUrlNotFoundException;
 import com.project.doongdoong.domain.voice.model.Voice;
 import com.project.doongdoong.domain.voice.repository.VoiceRepository;
@@ -17,10 +21,14 @@ import com.project.doongdoong.domain.voice.service.VoiceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service @Slf4j
 @RequiredArgsConstructor
@@ -30,23 +38,71 @@ public class AnswerServiceImp implements AnswerService{
     private final VoiceService voiceService;
     private final AnswerRepository answerRepository;
     private final AnalysisRepository analysisRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserIdentityResolver userIdentityResolver;
     public final static int MAX_ANSWER_COUNT = 4;
 
 
     @Transactional
     @Override
     public AnswerCreateResponseDto createAnswer(Long analysisId, MultipartFile file, Long questionId) {
-        Analysis findAnaylsis = analysisRepository.findAnalysisWithQuestion(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+        return createAnswer(analysisId, questionId, () -> voiceService.saveVoice(file));
+    }
 
-        Question matchedQuestion = findAnaylsis.getQuestions().stream()
-                .filter(question -> (long)question.getId() == (long)questionId)
-                .findFirst().orElseThrow(() -> new NoMatchingQuestionException());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 스트림을 S3 로 옮기는 동안 DB 커넥션을 잡지 않음
+    @Override
+    public AnswerCreateResponseDto createAnswer(Long analysisId, String originalName, InputStream inputStream, long contentLength, Long questionId, String uniqueValue) {
+        transactionTemplate.executeWithoutResult(status -> { // 1. 업로드 전에 다른 사용자의 분석이거나 답변할 수 없는 질문이면 거절
+            Analysis findAnaylsis = analysisRepository.findAnalysisWithQuestion(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+            checkOwner(findAnaylsis, uniqueValue);
+            findUnansweredQuestion(findAnaylsis, questionId);
+        });
 
-        if(Optional.ofNullable(matchedQuestion.getAnswer()).isPresent()){ // 이미 설정된 question - answer이 존재할 때 다시 접근하려고 하면 예외 발생
-            throw new AnswerConflictException();
+        Voice voice = voiceService.uploadVoice(originalName, inputStream, contentLength); // 2. 트랜잭션 밖에서 업로드
+        try {
+            return transactionTemplate.execute(status -> createAnswer(analysisId, questionId, () -> { // 3. 짧은 트랜잭션으로 다시 검증 후 저장
+                voiceRepository.save(voice);
+                return VoiceDetailResponseDto.of(voice.getAccessUrl());
+            }));
+        } catch (RuntimeException e) {
+            voiceService.discardUploadedVoice(voice); // 저장 실패(그 사이 다른 답변 등록 등) 시 업로드한 파일 삭제
+            throw e;
         }
+    }
+
+    @Transactional // 확인되지 않은 업로드의 삭제 예약(outbox)을 함께 저장
+    @Override
+    public VoiceUploadUrlResponseDto createAnswerUploadUrl(Long analysisId, Long questionId, String originalName, String uniqueValue) {
+        Analysis findAnaylsis = analysisRepository.findAnalysisWithQuestion(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+        Long userId = checkOwner(findAnaylsis, uniqueValue); // 다른 사용자의 분석에는 업로드 URL 을 발급하지 않음
+        findUnansweredQuestion(findAnaylsis, questionId); // 답변할 수 없는 질문이면 URL 발급 전에 거절
+
+        return voiceService.createUploadUrl(originalName, userId, analysisId, questionId);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // S3 HEAD 요청 동안 DB 커넥션을 잡지 않음
+    @Override
+    public AnswerCreateResponseDto confirmAnswer(Long analysisId, AnswerConfirmRequestDto dto, String uniqueValue) {
+        Long questionId = dto.getQuestionId();
+        Long userId = transactionTemplate.execute(status -> { // 1. 소유자, 질문, 업로드 예약 확인
+            Analysis findAnaylsis = analysisRepository.findAnalysisWithQuestion(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+            Long ownerId = checkOwner(findAnaylsis, uniqueValue);
+            findUnansweredQuestion(findAnaylsis, questionId);
+            voiceService.checkUploadReservation(dto.getObjectKey(), dto.getFilename(), ownerId, analysisId, questionId);
+            return ownerId;
+        });
+
+        long sizeBytes = voiceService.checkUploadedObject(dto.getObjectKey()); // 2. 트랜잭션 밖에서 업로드 확인
 
-        VoiceDetailResponseDto voiceDto = voiceService.saveVoice(file);
+        return transactionTemplate.execute(status -> createAnswer(analysisId, questionId, () -> // 3. 짧은 트랜잭션으로 다시 검증 후 저장
+                voiceService.confirmUploadedVoice(dto.getObjectKey(), dto.getFilename(), sizeBytes, userId, analysisId, questionId)));
+    }
+
+    private AnswerCreateResponseDto createAnswer(Long analysisId, Long questionId, Supplier<VoiceDetailResponseDto> voiceUploader) {
+        Analysis findAnaylsis = analysisRepository.findAnalysisWithQuestion(analysisId).orElseThrow(() -> new AnalysisNotFoundException());
+        Question matchedQuestion = findUnansweredQuestion(findAnaylsis, questionId);
+
+        VoiceDetailResponseDto voiceDto = voiceUploader.get(); // 질문 검증 이후에 업로드
         Voice voice = voiceRepository.findVoiceByAccessUrl(voiceDto.getAccessUrl()).orElseThrow(() -> new VoiceUrlNotFoundException());
 
         Answer answer = Answer.builder()
@@ -62,4 +118,23 @@ public class AnswerServiceImp implements AnswerService{
                 .answerId(answer.getId())
                 .build();
     }
+
+    private Long checkOwner(Analysis analysis, String uniqueValue) {
+        Long userId = userIdentityResolver.resolveUserId(uniqueValue);
+        if(!analysis.getUser().getId().equals(userId)){
+            throw new AnalysisAccessDeny();
+        }
+        return userId;
+    }
+
+    private Question findUnansweredQuestion(Analysis findAnaylsis, Long questionId) {
+        Question matchedQuestion = findAnaylsis.getQuestions().stream()
+                .filter(question -> (long)question.getId() == (long)questionId)
+                .findFirst().orElseThrow(() -> new NoMatchingQuestionException());
+
+        if(Optional.ofNullable(matchedQuestion.getAnswer()).isPresent()){ // 이미 설정된 question - answer이 존재할 때 다시 접근하려고 하면 예외 발생
+            throw new AnswerConflictException();
+        }
+        return matchedQuestion;
+    }
 }
@@ -10,11 +10,13 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 
 @RestController @Slf4j
 @RequestMapping("/api/v1/counsel")
@@ -59,5 +61,13 @@ public class CounselController {
         return ApiResponse.of(HttpStatus.OK, null, counselService.findConusels(uniqueValue, pageNumber));
     }
 
+    @GetMapping("/cursor")
+    public ApiResponse<?> findCounselsByCursor(@CurrentUser String uniqueValue
+            , @RequestParam(name = "cursorTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorTime
+            , @RequestParam(name = "cursorId", required = false) Long cursorId){ // 커서가 없으면 첫 페이지
+
+        return ApiResponse.of(HttpStatus.OK, null, counselService.findCounselsByCursor(uniqueValue, cursorTime, cursorId));
+    }
+
 
 }
@@ -0,0 +1,25 @@
+package com.project.doongdoong.domain.counsel.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class CounselCursorListResponse {
+
+    private boolean hasNext;
+    private String nextCursorTime; // 다음 페이지 요청 시 cursorTime, 마지막 페이지면 null
+    private Long nextCursorId; // 다음 페이지 요청 시 cursorId, 마지막 페이지면 null
+    private List<CounselResponse> counselContent;
+
+    @Builder
+    public CounselCursorListResponse(boolean hasNext, String nextCursorTime, Long nextCursorId, List<CounselResponse> counselContent) {
+        this.hasNext = hasNext;
+        this.nextCursorTime = nextCursorTime;
+        this.nextCursorId = nextCursorId;
+        this.counselContent = counselContent;
+    }
+}
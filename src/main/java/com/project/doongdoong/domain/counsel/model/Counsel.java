@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 
 @Entity @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_counsel_user_created_time", columnList = "user_id, created_time, counsel_id")) // 사용자별 커서 페이징
 public class Counsel extends BaseEntity {
 
     @Id
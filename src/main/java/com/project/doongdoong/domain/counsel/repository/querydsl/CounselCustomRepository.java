@@ -4,8 +4,13 @@ import com.project.doongdoong.domain.counsel.model.Counsel;
 import com.project.doongdoong.domain.user.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
 
 public interface CounselCustomRepository {
 
     Page<Counsel> searchPageCounselList(User user, Pageable pageable);
+
+    Slice<Counsel> searchCounselListByCursor(User user, LocalDateTime cursorTime, Long cursorId, int size);
 }
@@ -9,8 +9,11 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.support.PageableExecutionUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.project.doongdoong.domain.analysis.model.QAnalysis.analysis;
@@ -42,7 +45,37 @@ public class CounselCustomRepositoryImpl implements CounselCustomRepository {
         return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
     }
 
+    /**
+     * 상담 목록 커서 페이징 조회, 최신순
+     * (created_time, counsel_id) 기준으로 커서 다음 값부터 조회, 커서가 없으면 첫 페이지
+     */
+    @Override
+    public Slice<Counsel> searchCounselListByCursor(User user, LocalDateTime cursorTime, Long cursorId, int size) {
+        List<Counsel> content = queryFactory
+                .selectFrom(counsel)
+                .leftJoin(counsel.analysis, analysis).fetchJoin()
+                .where(userEq(user), cursorLt(cursorTime, cursorId))
+                .orderBy(counsel.createdTime.desc(), counsel.id.desc())
+                .limit(size + 1) // 다음 페이지 존재 여부 확인용 1개
+                .fetch();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+    }
+
     private BooleanExpression userEq(User user) {
         return counsel.user.id.eq(user.getId());
     }
+
+    private BooleanExpression cursorLt(LocalDateTime cursorTime, Long cursorId) {
+        if (cursorTime == null || cursorId == null) {
+            return null;
+        }
+        return counsel.createdTime.lt(cursorTime)
+                .or(counsel.createdTime.eq(cursorTime).and(counsel.id.lt(cursorId)));
+    }
 }
@@ -6,6 +6,7 @@ import com.project.doongdoong.domain.analysis.model.Analysis;
 import com.project.doongdoong.domain.analysis.repository.AnalysisRepository;
 import com.project.doongdoong.domain.answer.model.Answer;
 import com.project.doongdoong.domain.counsel.dto.request.CounselCreateRequest;
+import com.project.doongdoong.domain.counsel.dto.response.CounselCursorListResponse;
 import com.project.doongdoong.domain.counsel.dto.response.CounselDetailResponse;
 import com.project.doongdoong.domain.counsel.dto.response.CounselListResponse;
 import com.project.doongdoong.domain.counsel.dto.response.CounselResponse;
@@ -17,21 +18,23 @@ import com.project.doongdoong.domain.counsel.exception.UnAuthorizedForCounselExc
 import com.project.doongdoong.domain.counsel.model.Counsel;
 import com.project.doongdoong.domain.counsel.model.CounselType;
 import com.project.doongdoong.domain.counsel.repository.CounselRepository;
-import com.project.doongdoong.domain.user.exeception.UserNotFoundException;
-import com.project.doongdoong.domain.user.model.SocialType;
 import com.project.doongdoong.domain.user.model.User;
-import com.project.doongdoong.domain.user.repository.UserRepository;
+import com.project.doongdoong.domain.user.service.UserIdentityResolver;
 import com.project.doongdoong.global.dto.response.CounselAiResponse;
+import com.project.doongdoong.global.cache.LayeredCache;
 import com.project.doongdoong.global.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -42,17 +45,16 @@ public class CounselServiceImpl implements CounselService {
 
     private final AnalysisRepository analysisRepository;
     private final CounselRepository counselRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityResolver userIdentityResolver;
     private final WebClientUtil webClientUtil;
+    private final LayeredCache<CounselDetailResponse> counselDetailCache;
     private final static int COUNSEL_PAGE_SIZE = 10;
 
 
     @Transactional
     @Override
     public CounselResultResponse consult(String uniqueValue, CounselCreateRequest request) {
-        String[] values = parseUniqueValue(uniqueValue); // 사용자 정보 찾기
-        User user = userRepository.findBySocialTypeAndSocialId(SocialType.customValueOf(values[1]), values[0])
-                .orElseThrow(() -> new UserNotFoundException());
+        User user = userIdentityResolver.resolveUserReference(uniqueValue); // 사용자 정보 찾기
 
         Counsel counsel = Counsel.builder() // 상담 객체 생성
                 .question(request.getQuestion())
@@ -117,13 +119,20 @@ public class CounselServiceImpl implements CounselService {
 
     @Override
     public CounselDetailResponse findCouselContent(String socialId, Long counselId) {
-        String[] value = parseUniqueValue(socialId);
-        log.info(value[0], value[1]);
-        User findUser = userRepository.findBySocialTypeAndSocialId(SocialType.customValueOf(value[1]), value[0])
-                .orElseThrow(() -> new UserNotFoundException());
+        Long userId = userIdentityResolver.resolveUserId(socialId);
+
+        return counselDetailCache.get(counselDetailKeyOf(counselId, userId) // 사용자 별 키로 본인 확인 결과까지 캐시
+                , () -> loadCounselDetail(counselId, userId));
+    }
+
+    private static String counselDetailKeyOf(Long counselId, Long userId) {
+        return counselId + ":" + userId;
+    }
+
+    private CounselDetailResponse loadCounselDetail(Long counselId, Long userId) { // 상담 내용은 저장 이후 변경되지 않음
         Counsel findCounsel = counselRepository.findWithAnalysisById(counselId).orElseThrow(() -> new CounselNotFoundException());
 
-        if(!findCounsel.getUser().getId().equals(findUser.getId())){ // 사용자 본인의 상담만 확인 가능
+        if(!findCounsel.getUser().getId().equals(userId)){ // 사용자 본인의 상담만 확인 가능
             throw new UnAuthorizedForCounselException();
         }
 
@@ -139,9 +148,7 @@ public class CounselServiceImpl implements CounselService {
 
     @Override
     public CounselListResponse findConusels(String uniqueValue, int pageNumber) {
-        String[] value = parseUniqueValue(uniqueValue);
-        User findUser = userRepository.findBySocialTypeAndSocialId(SocialType.customValueOf(value[1]), value[0])
-                .orElseThrow(() -> new UserNotFoundException());
+        User findUser = userIdentityResolver.resolveUserReference(uniqueValue);
 
         pageNumber -= 1;
         PageRequest pageRequest = PageRequest.of(pageNumber, COUNSEL_PAGE_SIZE);
@@ -172,8 +179,29 @@ public class CounselServiceImpl implements CounselService {
         return response;
     }
 
-    private static String[] parseUniqueValue(String uniqueValue) {
-        String[] values = uniqueValue.split("_"); // 사용자 찾기
-        return values;
+    @Override
+    public CounselCursorListResponse findCounselsByCursor(String uniqueValue, LocalDateTime cursorTime, Long cursorId) {
+        User findUser = userIdentityResolver.resolveUserReference(uniqueValue);
+
+        Slice<Counsel> counselSlice = counselRepository.searchCounselListByCursor(findUser, cursorTime, cursorId, COUNSEL_PAGE_SIZE);
+        List<Counsel> content = counselSlice.getContent();
+        Counsel last = counselSlice.hasNext() ? content.get(content.size() - 1) : null; // 다음 커서
+
+        return CounselCursorListResponse.builder()
+                .hasNext(counselSlice.hasNext())
+                .nextCursorTime(last == null ? null : last.getCreatedTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .nextCursorId(last == null ? null : last.getId())
+                .counselContent(content.stream()
+                        .map(counsel ->
+                                CounselResponse.builder()
+                                        .date(counsel.getCreatedTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
+                                        .counselId(counsel.getId())
+                                        .isAnalysisUsed(counsel.hasAnaylsis())
+                                        .counselType(counsel.getCounselType().getCotent())
+                                        .build()
+                        )
+                        .collect(Collectors.toList())
+                )
+                .build();
     }
 }
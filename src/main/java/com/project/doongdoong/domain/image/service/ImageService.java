@@ -2,7 +2,6 @@ package com.project.doongdoong.domain.image.service;
 
 import com.amazonaws.SdkClientException;
 import com.amazonaws.services.s3.AmazonS3Client;
-import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.project.doongdoong.domain.image.dto.request.ImageSaveRequestDto;
 import com.project.doongdoong.domain.image.dto.response.ImageDetailResponseDto;
 import com.project.doongdoong.domain.image.dto.response.ImagesResponseDto;
@@ -13,15 +12,20 @@ import com.project.doongdoong.domain.image.exception.ImageUrlNotFoundException;
 import com.project.doongdoong.domain.image.model.Image;
 import com.project.doongdoong.domain.image.repository.ImageRepository;
 import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.util.ParallelS3Uploader;
+import com.project.doongdoong.global.util.S3StreamUploader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Service @Slf4j
@@ -35,42 +39,58 @@ public class ImageService {
     private String bucketName;
     private final AmazonS3Client amazonS3Client;
     private final ImageRepository imageRepository;
+    private final S3StreamUploader s3StreamUploader;
+    private final ParallelS3Uploader parallelS3Uploader;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 업로드 동안 DB 커넥션을 잡지 않음
     public ImagesResponseDto saveImages(ImageSaveRequestDto saveDto) {
-        ImagesResponseDto resultList = new ImagesResponseDto();
         for(MultipartFile multipartFile : saveDto.getImages()) {
             if(multipartFile.isEmpty()){
-                new FileEmptyException();
+                throw new FileEmptyException();
             }
-            ImageDetailResponseDto detailResponseDto = saveImage(multipartFile);
-            resultList.getImagesResponse().add(detailResponseDto);
         }
+
+        List<Image> images = parallelS3Uploader.uploadAll(saveDto.getImages(), this::uploadImage, this::deleteUploadedObject); // 1. S3 병렬 업로드
+        try {
+            transactionTemplate.executeWithoutResult(status -> imageRepository.saveAll(images)); // 2. 짧은 트랜잭션 하나로 저장
+        } catch (RuntimeException e) {
+            parallelS3Uploader.compensate(images, this::deleteUploadedObject); // 저장 실패 시 업로드한 파일 삭제
+            throw e;
+        }
+
+        ImagesResponseDto resultList = new ImagesResponseDto();
+        images.forEach(image -> resultList.getImagesResponse().add(ImageDetailResponseDto.of(image.getAccessUrl())));
         return resultList;
     }
 
+    @Transactional
     public ImageDetailResponseDto saveImage(MultipartFile multipartFile) {
+        Image image = uploadImage(multipartFile);
+        imageRepository.save(image);
+
+        return ImageDetailResponseDto.of(image.getAccessUrl());
+    }
+
+    private Image uploadImage(MultipartFile multipartFile) {
         String originalName = multipartFile.getOriginalFilename();
         Image image = new Image(originalName);
         String filename = KEY + image.getStoredName();
 
-
-        try {
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setContentType(multipartFile.getContentType());
-            objectMetadata.setContentLength(multipartFile.getInputStream().available());
-            amazonS3Client.putObject(bucketName, filename, multipartFile.getInputStream(), objectMetadata);
+        try (InputStream inputStream = multipartFile.getInputStream()) { // available() 대신 실제 파일 크기 사용
+            s3StreamUploader.upload(bucketName, filename, multipartFile.getContentType(), inputStream, multipartFile.getSize());
 
             String accessUrl = amazonS3Client.getUrl(bucketName, filename).toString();
             image.changeAccessUrl(accessUrl);
         } catch(SdkClientException | IOException e) {
             log.error("파일 업로드 과정 실패  {}", e.getMessage());
-            new FileUploadException();
+            throw new FileUploadException();
         }
+        return image;
+    }
 
-        imageRepository.save(image);
-
-        return ImageDetailResponseDto.of(image.getAccessUrl());
+    private void deleteUploadedObject(Image image) {
+        amazonS3Client.deleteObject(bucketName, KEY + image.getStoredName());
     }
 
     public void deleteImage(String imageUrl) {
@@ -0,0 +1,11 @@
+package com.project.doongdoong.domain.user.exeception;
+
+import com.project.doongdoong.global.exception.CustomException;
+
+import static com.project.doongdoong.global.exception.ErrorType.Unauthorized.REFRESH_TOKEN_REUSED;
+
+public class RefreshTokenReusedException extends CustomException.UnauthorizedException {
+    public RefreshTokenReusedException() {
+        super(REFRESH_TOKEN_REUSED, "이미 사용된 refreshToken입니다. 다시 로그인해 주세요.");
+    }
+}
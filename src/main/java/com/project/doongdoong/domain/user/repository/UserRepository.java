@@ -2,7 +2,9 @@ package com.project.doongdoong.domain.user.repository;
 
 import com.project.doongdoong.domain.user.model.SocialType;
 import com.project.doongdoong.domain.user.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +16,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findBySocialTypeAndSocialId(SocialType socialType, String socialId); // OAuth2 로그인 시, 사용하는 메소드
 
+    @Query("select u.id from User u where u.socialType = :socialType and u.socialId = :socialId") // roles 컬렉션 조회 없이 id 만
+    Optional<Long> findIdBySocialTypeAndSocialId(@Param("socialType") SocialType socialType, @Param("socialId") String socialId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE) // select ... for update, 같은 사용자의 동시 작업 직렬화
+    @Query("select u from User u where u.id = :userId")
+    Optional<User> findByIdForUpdate(@Param("userId") Long userId);
+
 
     @Query("select u from User u left join u.analysisList al on al.createdTime >= :date left join al.answers an " +
             "where u.socialType = :socialType and u.socialId = :socialId")
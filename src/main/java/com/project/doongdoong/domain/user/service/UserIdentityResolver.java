@@ -0,0 +1,67 @@
+package com.project.doongdoong.domain.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.doongdoong.domain.user.exeception.UserNotFoundException;
+import com.project.doongdoong.domain.user.model.SocialType;
+import com.project.doongdoong.domain.user.model.User;
+import com.project.doongdoong.domain.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 인증 정보(socialId_socialType) -> 사용자 id 캐시
+ * 사용자 id 만 필요한 API 는 엔티티(+ EAGER roles) 조회 없이 getReferenceById 프록시를 사용한다.
+ * 회원 탈퇴 기능이 없어 매핑이 바뀌지 않으므로 TTL, 최대 크기로만 정리한다.
+ */
+@Component
+public class UserIdentityResolver {
+
+    private static final String CACHE_NAME = "user.identity";
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> userIds;
+    private final boolean enabled;
+
+    public UserIdentityResolver(UserRepository userRepository, MeterRegistry meterRegistry
+            , @Value("${user.identity-cache.enabled:true}") boolean enabled
+            , @Value("${user.identity-cache.max-size:10000}") long maxSize
+            , @Value("${user.identity-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.userIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userIds, CACHE_NAME);
+    }
+
+    /**
+     * @param uniqueValue socialId_socialType 형식의 인증 사용자 값
+     * @throws UserNotFoundException 사용자가 없는 경우 (캐시하지 않음)
+     */
+    public Long resolveUserId(String uniqueValue) {
+        if (!enabled) {
+            return findUserId(uniqueValue);
+        }
+        return userIds.get(uniqueValue, this::findUserId);
+    }
+
+    /**
+     * 사용자 id 만 채워진 프록시, 연관관계 설정이나 사용자 조건 조회에 사용
+     */
+    public User resolveUserReference(String uniqueValue) {
+        return userRepository.getReferenceById(resolveUserId(uniqueValue));
+    }
+
+    private Long findUserId(String uniqueValue) {
+        String[] values = uniqueValue.split("_");
+        return userRepository.findIdBySocialTypeAndSocialId(SocialType.customValueOf(values[1]), values[0])
+                .orElseThrow(() -> new UserNotFoundException());
+    }
+}
@@ -2,36 +2,39 @@ package com.project.doongdoong.domain.user.service;
 
 import com.project.doongdoong.domain.user.dto.UserInfomationResponse;
 import com.project.doongdoong.domain.user.exeception.RefreshTokenNoutFoundException;
+import com.project.doongdoong.domain.user.exeception.RefreshTokenReusedException;
 import com.project.doongdoong.domain.user.exeception.SocialTypeNotFoundException;
 import com.project.doongdoong.domain.user.exeception.TokenInfoFobiddenException;
 import com.project.doongdoong.domain.user.exeception.UserNotFoundException;
 import com.project.doongdoong.domain.user.model.SocialType;
 import com.project.doongdoong.domain.user.model.User;
 import com.project.doongdoong.domain.user.repository.UserRepository;
-import com.project.doongdoong.global.common.BlackAccessToken;
+import com.project.doongdoong.global.util.BlackTokenBloomFilter;
 import com.project.doongdoong.global.util.JwtProvider;
-import com.project.doongdoong.global.common.RefreshToken;
 import com.project.doongdoong.global.dto.request.LogoutDto;
 import com.project.doongdoong.global.dto.request.OAuthTokenDto;
 import com.project.doongdoong.global.dto.request.ReissueDto;
 import com.project.doongdoong.global.dto.response.TokenDto;
-import com.project.doongdoong.global.repositoty.BlackAccessTokenRepository;
-import com.project.doongdoong.global.repositoty.RefreshTokenRepository;
+import com.project.doongdoong.global.repositoty.TokenRedisRepository;
+import com.project.doongdoong.global.repositoty.TokenRedisRepository.Rotation;
+import com.project.doongdoong.global.repositoty.TokenRedisRepository.RotationResult;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.UUID;
 
 @Service @Slf4j
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserService {
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final BlackAccessTokenRepository blackAccessTokenRepository;
+    private final TokenRedisRepository tokenRedisRepository;
     private final JwtProvider jwtProvider;
+    private final BlackTokenBloomFilter blackTokenBloomFilter;
 
 
     @Transactional
@@ -52,21 +55,13 @@ public class UserService {
         user.checkRoles(); // 새롭게 생성된 경우 사용자 권한 제공
         userRepository.save(user); // 새롭게 생성된 경우에는 영속화 필요
 
-        Optional<BlackAccessToken> blackAccessToken =
-                blackAccessTokenRepository.findById(BlackAccessToken.findUniqueId(socialId,socialType.getText()));
-        if(blackAccessToken.isPresent()) {
-            blackAccessTokenRepository.delete(blackAccessToken.get());
-            log.info("blackAccessToken 존재해서 삭제");
-        }
-
-        TokenDto tokenInfoResponse = jwtProvider.generateToken(socialId, socialType.getText(), user.getRoles());
+        String familyId = UUID.randomUUID().toString(); // 로그인마다 새로운 refresh token 회전 family
+        String tokenId = UUID.randomUUID().toString();
+        TokenDto tokenInfoResponse = jwtProvider.generateToken(socialId, socialType.getText(), user.getRoles(), familyId, tokenId);
 
-        RefreshToken refresh = RefreshToken.of(user.getSocialId(), user.getSocialType().getText(), tokenInfoResponse.getRefreshToken());
-        Optional<RefreshToken> findRefreshToken = refreshTokenRepository.findByUniqueId(refresh.getUniqueId());
-        if(findRefreshToken.isPresent()){ // 기존 rft이 존재한다면 삭제하고 새롭게 저장
-            refreshTokenRepository.delete(findRefreshToken.get()); log.info("기존 RefreshToken 삭제");
-        }
-        refreshTokenRepository.save(refresh); log.info("새로운 RefreshToken 저장");
+        String uniqueId = TokenRedisRepository.uniqueIdOf(socialId, socialType.getText());
+        tokenRedisRepository.replaceOnLogin(uniqueId, familyId, tokenId, jwtProvider.refreshTokenTtl()); // 기존 rft, 블랙 토큰 삭제 후 새롭게 저장
+        log.info("새로운 RefreshToken 저장");
 
         return tokenInfoResponse;
     }
@@ -93,45 +88,53 @@ public class UserService {
 
     @Transactional
     public TokenDto reissue(ReissueDto reissueTokenDto){
-        String refreshToken = reissueTokenDto.getRefreshToken();
-        Optional<RefreshToken> findRefreshToken = refreshTokenRepository.findByRefreshToken(refreshToken);
-        
-        if(findRefreshToken.isPresent()) { // rft이 존재한다면
-            String token = findRefreshToken.get().getRefreshToken().substring(7);
-            String socialId = jwtProvider.extractSocialId(token);
-            String socialType = jwtProvider.extractSocialType(token);
-            String role = jwtProvider.extractRole(token);
-            String accessToken = jwtProvider.createAccessToken(socialId, socialType, role); // act 갱신
-
-            return TokenDto.builder()
-                    .accessToken(accessToken)
-                    .build();
-        }else{
+        Claims claims = parseRefreshClaims(reissueTokenDto.getRefreshToken()); // 한 번만 파싱
+        String familyId = claims.get(JwtProvider.FAMILY_ID_CLAIM, String.class);
+        if(familyId == null || claims.getId() == null){ // family 정보가 없는 토큰
+            throw new RefreshTokenNoutFoundException();
+        }
+
+        String newTokenId = UUID.randomUUID().toString();
+        Rotation rotation = tokenRedisRepository.rotateRefreshToken(familyId, claims.getId(), newTokenId, jwtProvider.refreshTokenTtl());
+        if(rotation.result() == RotationResult.NOT_FOUND){ // 로그아웃, 재로그인, 만료로 family 가 없는 경우
             throw new RefreshTokenNoutFoundException();
         }
+        if(rotation.result() == RotationResult.REUSED){ // 이미 교체된 rft 재사용 -> 탈취 가능성, family 전체 폐기
+            log.warn("refreshToken 재사용 감지 socialId = {}, familyId = {}", claims.getSubject(), familyId);
+            throw new RefreshTokenReusedException();
+        }
 
+        String socialId = claims.getSubject();
+        String socialType = claims.get("socialType", String.class);
+        String role = claims.get("role", String.class);
+        return TokenDto.builder()
+                .accessToken(jwtProvider.createAccessToken(socialId, socialType, role)) // act 갱신
+                .refreshToken(jwtProvider.createRefreshToken(socialId, socialType, role, familyId, rotation.tokenId())) // rft 회전, 허용 시간 안의 재요청이면 현재 id 로 발급
+                .build();
     }
 
-    @Transactional
-    public void logout(LogoutDto tokenInfoDto, String accessToken) {
-        String socialType = jwtProvider.extractSocialType(accessToken.substring(7));
-        String socialId = jwtProvider.extractSocialId(accessToken.substring(7));
-        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByRefreshToken(tokenInfoDto.getRefreshToken());
-        if(refreshToken.isPresent()){       // blackAccessToken으로 이미 접근 권한을 막았지만 더 안전한 보안으로 rft도 삭제
-            refreshTokenRepository.delete(refreshToken.get()); // rft이 존재한다면 삭제
+    private Claims parseRefreshClaims(String refreshToken) {
+        try {
+            return jwtProvider.parseRefreshToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) { // 위조, 만료된 rft
+            throw new RefreshTokenNoutFoundException();
         }
+    }
 
-        String accessSocialId = jwtProvider.extractSocialId(accessToken.substring(7));
-        String accessSocailType = jwtProvider.extractSocialType(accessToken.substring(7));
-        if (!accessSocialId.equals(socialId)){
-            new TokenInfoFobiddenException();
-        }
-        if (!accessSocailType.equals(socialType)){
-            new TokenInfoFobiddenException();
+    @Transactional
+    public void logout(LogoutDto tokenInfoDto, String accessToken) {
+        Claims accessClaims = jwtProvider.parseClaims(accessToken.substring(7));
+        String socialId = accessClaims.getSubject();
+        String socialType = accessClaims.get("socialType", String.class);
+        Claims refreshClaims = jwtProvider.parseClaims(JwtProvider.stripBearer(tokenInfoDto.getRefreshToken())); // 만료된 rft 도 family 삭제
+        if (!socialId.equals(refreshClaims.getSubject()) || !socialType.equals(refreshClaims.get("socialType", String.class))){ // 다른 사용자의 rft 로 family 삭제 방지
+            throw new TokenInfoFobiddenException();
         }
 
-        BlackAccessToken blackAccessToken = BlackAccessToken.of(socialId, socialType, accessToken);
-        blackAccessTokenRepository.save(blackAccessToken); // blackAccessToken 저장 -> 해당 act은 만료기간 남았더라도 접근 불가
+        // blackAccessToken으로 접근 권한을 막고, 더 안전한 보안으로 rft family 도 삭제 -> 해당 act은 만료기간 남았더라도 접근 불가
+        tokenRedisRepository.logout(TokenRedisRepository.uniqueIdOf(socialId, socialType), refreshClaims.get(JwtProvider.FAMILY_ID_CLAIM, String.class)
+                , accessToken.substring(7), jwtProvider.accessTokenTtl());
+        blackTokenBloomFilter.publish(accessToken.substring(7)); // 모든 서버의 블랙 토큰 필터에 추가
     }
 
     public UserInfomationResponse getMyPage(String uniqueValue) {
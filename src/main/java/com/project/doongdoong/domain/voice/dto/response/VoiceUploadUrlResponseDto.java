@@ -0,0 +1,25 @@
+package com.project.doongdoong.domain.voice.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class VoiceUploadUrlResponseDto {
+    private String uploadUrl; // 클라이언트가 PUT 으로 직접 업로드할 pre-signed URL
+    private String objectKey; // 업로드 후 확인 요청에 그대로 전달
+    private String contentType; // PUT 요청의 Content-Type 헤더, 서명에 포함되므로 동일해야 함
+    private LocalDateTime expiresAt;
+
+    @Builder
+    public VoiceUploadUrlResponseDto(String uploadUrl, String objectKey, String contentType, LocalDateTime expiresAt) {
+        this.uploadUrl = uploadUrl;
+        this.objectKey = objectKey;
+        this.contentType = contentType;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.doongdoong.domain.voice.event;
+
+import com.project.doongdoong.domain.question.model.QuestionContent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 질문 TTS 음성이 새로 저장되어 질문 음성 url 캐시를 갱신해야 할 때 발행
+ */
+@Getter
+@AllArgsConstructor
+public class QuestionVoiceChangedEvent {
+    private QuestionContent questionContent;
+    private String accessUrl;
+}
@@ -0,0 +1,10 @@
+package com.project.doongdoong.domain.voice.exception;
+
+import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.exception.ErrorType;
+
+public class VoiceConflictException extends CustomException.ConflictException {
+    public VoiceConflictException() {
+        super(ErrorType.Conflict.VOICE_ALREADY_CONFIRMED, "이미 등록된 음성 파일입니다.");
+    }
+}
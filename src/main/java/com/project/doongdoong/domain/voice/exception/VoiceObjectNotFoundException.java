@@ -0,0 +1,10 @@
+package com.project.doongdoong.domain.voice.exception;
+
+import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.exception.ErrorType;
+
+public class VoiceObjectNotFoundException extends CustomException.NotFoundException {
+    public VoiceObjectNotFoundException() {
+        super(ErrorType.NotFound.VOICE_OBJECT_NOT_FOUND, "S3에 업로드된 음성 파일이 존재하지 않습니다.");
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.doongdoong.domain.voice.exception;
+
+import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.exception.ErrorType;
+
+public class VoiceTooLargeException extends CustomException.InvalidRequestException {
+    public VoiceTooLargeException() {
+        super(ErrorType.BadRequest.VOICE_TOO_LARGE, "음성 파일 크기가 허용 범위를 초과했습니다.");
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.doongdoong.domain.voice.exception;
+
+import com.project.doongdoong.global.exception.CustomException;
+import com.project.doongdoong.global.exception.ErrorType;
+
+public class VoiceUploadWrongException extends CustomException.InvalidRequestException {
+    public VoiceUploadWrongException() {
+        super(ErrorType.BadRequest.VOICE_UPLOAD_WRONG, "업로드된 음성 파일 정보가 올바르지 않습니다.");
+    }
+}
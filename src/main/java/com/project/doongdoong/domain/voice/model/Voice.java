@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.UUID;
 
 @Entity @Getter
+@Table(indexes = @Index(name = "idx_voice_access_url", columnList = "access_url", unique = true)) // url 로 음성 조회/삭제, 같은 파일을 두 voice 에 연결하지 않음
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Voice extends BaseEntity {
 
@@ -24,6 +25,10 @@ public class Voice extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private QuestionContent questionContent;
 
+    private Long sizeBytes; // S3 에 저장된 파일 크기
+
+    private Long durationMillis; // 재생 시간, wav 를 변환한 경우에만 기록
+
 
     @Builder(builderClassName = "CommonBuilder", builderMethodName = "commonBuilder")
     public Voice(String originName) {
@@ -38,10 +43,21 @@ public class Voice extends BaseEntity {
         this.accessUrl = "";
         this.questionContent = questionContent;
     }
+    @Builder(builderClassName = "UploadedVoiceBuilder", builderMethodName = "uploadedVoiceBuilder")
+    public Voice(String originName, String storedName) { // 클라이언트가 pre-signed URL 로 이미 업로드한 파일
+        this.originName = originName;
+        this.storedName = storedName;
+        this.accessUrl = "";
+    }
     public void changeAccessUrl(String accessUrl) {
         this.accessUrl = accessUrl;
     }
 
+    public void changeAudioMetadata(Long sizeBytes, Long durationMillis) {
+        this.sizeBytes = sizeBytes;
+        this.durationMillis = durationMillis;
+    }
+
     // 이미지 파일의 확장자를 추출하는 메소드
     public String extractExtension(String originName) {
         int index = originName.lastIndexOf('.');
@@ -0,0 +1,58 @@
+package com.project.doongdoong.domain.voice.model;
+
+import com.project.doongdoong.global.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제해야 할 S3 음성 파일 key
+ * voice 행 삭제와 같은 트랜잭션에서 저장되고, VoiceDeleteOutboxWorker 가 S3 삭제 후 지운다.
+ * pre-signed 업로드 URL 발급 시에도 만료 이후로 미뤄서 저장하고, 업로드 확인(confirm)에서 지운다 -> 확인되지 않은 업로드 정리
+ * 이 업로드 예약 행에는 URL 을 발급받은 사용자, 분석, 질문을 함께 남겨서 발급받은 요청만 확인할 수 있게 한다.
+ */
+@Entity @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_voice_delete_outbox_next_attempt", columnList = "next_attempt_time, voice_delete_outbox_id"), // 처리 대상 조회
+        @Index(name = "idx_voice_delete_outbox_object_key", columnList = "object_key") // 업로드 확인 시 예약 삭제
+})
+public class VoiceDeleteOutbox extends BaseEntity {
+
+    @Id
+    @Column(name = "voice_delete_outbox_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String objectKey; // 삭제할 S3 key
+
+    private int attempts; // 실패한 삭제 시도 횟수
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptTime; // 이 시각 이후에 삭제 시도
+
+    private Long userId; // 업로드 예약인 경우에만 기록
+
+    private Long analysisId;
+
+    private Long questionId;
+
+    public VoiceDeleteOutbox(String objectKey) {
+        this.objectKey = objectKey;
+        this.nextAttemptTime = LocalDateTime.now();
+    }
+
+    @Builder(builderClassName = "UploadReservationBuilder", builderMethodName = "uploadReservationBuilder")
+    public VoiceDeleteOutbox(String objectKey, LocalDateTime nextAttemptTime, Long userId, Long analysisId, Long questionId) {
+        this.objectKey = objectKey;
+        this.nextAttemptTime = nextAttemptTime;
+        this.userId = userId;
+        this.analysisId = analysisId;
+        this.questionId = questionId;
+    }
+}
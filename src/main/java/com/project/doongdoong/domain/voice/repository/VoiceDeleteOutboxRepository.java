@@ -0,0 +1,34 @@
+package com.project.doongdoong.domain.voice.repository;
+
+import com.project.doongdoong.domain.voice.model.VoiceDeleteOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VoiceDeleteOutboxRepository extends JpaRepository<VoiceDeleteOutbox, Long> {
+
+    public List<VoiceDeleteOutbox> findByNextAttemptTimeLessThanEqualOrderByIdAsc(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from VoiceDeleteOutbox o where o.id in :ids")
+    public int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+    public boolean existsByObjectKeyAndUserIdAndAnalysisIdAndQuestionId(String objectKey, Long userId, Long analysisId, Long questionId);
+
+    @Modifying // 업로드 확인 완료 -> 예약 삭제 취소, 같은 예약을 동시에 확인하면 하나만 1건
+    @Query("delete from VoiceDeleteOutbox o where o.objectKey = :objectKey " +
+            "and o.userId = :userId and o.analysisId = :analysisId and o.questionId = :questionId")
+    public int deleteUploadReservation(@Param("objectKey") String objectKey, @Param("userId") Long userId
+            , @Param("analysisId") Long analysisId, @Param("questionId") Long questionId);
+
+    @Modifying // 엔티티 merge 대신 update -> 다른 인스턴스가 먼저 삭제한 행을 다시 insert 하지 않음
+    @Query("update VoiceDeleteOutbox o set o.attempts = o.attempts + 1, o.nextAttemptTime = :nextAttemptTime where o.id = :id")
+    public int scheduleRetry(@Param("id") Long id, @Param("nextAttemptTime") LocalDateTime nextAttemptTime);
+}
@@ -3,6 +3,9 @@ package com.project.doongdoong.domain.voice.repository;
 import com.project.doongdoong.domain.question.model.QuestionContent;
 import com.project.doongdoong.domain.voice.model.Voice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,5 +19,13 @@ public interface VoiceRepository extends JpaRepository<Voice, Long> {
     public List<Voice> findVoiceAllByQuestionContentIn(List<QuestionContent> questionContent);
 
     public Optional<Voice> findVoiceByAccessUrl(String accessUrl);
+
+    public boolean existsByAccessUrl(String accessUrl);
+
+    public List<Voice> findAllByAccessUrlIn(List<String> accessUrls);
+
+    @Modifying(flushAutomatically = true) // answer 연관관계 끊기(update)가 먼저 반영되어야 FK 위반이 없음
+    @Query("delete from Voice v where v.voiceId in :voiceIds")
+    public int deleteAllByVoiceIdIn(@Param("voiceIds") List<Long> voiceIds);
 }
 
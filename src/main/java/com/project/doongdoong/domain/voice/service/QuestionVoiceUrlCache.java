@@ -0,0 +1,116 @@
+package com.project.doongdoong.domain.voice.service;
+
+import com.project.doongdoong.domain.question.model.QuestionContent;
+import com.project.doongdoong.domain.voice.event.QuestionVoiceChangedEvent;
+import com.project.doongdoong.domain.voice.model.Voice;
+import com.project.doongdoong.domain.voice.repository.VoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 질문(QuestionContent)별 TTS 음성 파일 접근 url 캐시
+ * 질문 음성은 거의 바뀌지 않으므로 시작 시 한 번 읽어두고, TTS 음성이 저장될 때만 갱신한다.
+ * 조회는 불변 EnumMap 스냅샷을 읽기만 하고, 갱신은 새 스냅샷으로 교체(copy-on-write)한다.
+ * 갱신은 커밋 후에 반영하고, 다른 서버도 갱신하도록 REFRESH_CHANNEL 로 "질문=url" 을 발행한다.
+ */
+@Slf4j
+@Component
+public class QuestionVoiceUrlCache implements MessageListener {
+
+    public static final String REFRESH_CHANNEL = "cache:question-voice";
+    private static final String CACHE_METRIC_NAME = "question.voice.url.cache";
+    private static final String MESSAGE_DELIMITER = "=";
+
+    private final VoiceRepository voiceRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private volatile Map<QuestionContent, String> accessUrls = Collections.unmodifiableMap(new EnumMap<>(QuestionContent.class));
+
+    public QuestionVoiceUrlCache(VoiceRepository voiceRepository, MeterRegistry meterRegistry
+            , StringRedisTemplate stringRedisTemplate, RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.voiceRepository = voiceRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.hitCounter = Counter.builder(CACHE_METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder(CACHE_METRIC_NAME).tag("result", "miss").register(meterRegistry);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REFRESH_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Voice> voices = voiceRepository.findVoiceAllByQuestionContentIn(Arrays.asList(QuestionContent.values()));
+        Map<QuestionContent, String> loaded = new EnumMap<>(QuestionContent.class);
+        for (Voice voice : voices) {
+            loaded.putIfAbsent(voice.getQuestionContent(), voice.getAccessUrl());
+        }
+        accessUrls = Collections.unmodifiableMap(loaded);
+        log.info("질문 음성 url 캐시 적재 size = {}", loaded.size());
+    }
+
+    /**
+     * 질문 음성 접근 url 조회, 캐시에 없으면 DB에서 읽어 캐시에 반영
+     * @return 질문 음성이 없으면 Optional.empty()
+     */
+    public Optional<String> getAccessUrl(QuestionContent questionContent) {
+        String accessUrl = accessUrls.get(questionContent);
+        if (accessUrl != null) {
+            hitCounter.increment();
+            return Optional.of(accessUrl);
+        }
+
+        missCounter.increment();
+        Optional<String> findAccessUrl = voiceRepository.findVoiceByQuestionContent(questionContent)
+                .map(Voice::getAccessUrl);
+        findAccessUrl.ifPresent(url -> refresh(questionContent, url));
+        return findAccessUrl;
+    }
+
+    /**
+     * 질문 음성 저장이 커밋된 뒤 갱신, 롤백되면 캐시에 반영하지 않음
+     * 트랜잭션 밖에서 발행된 경우에도 바로 반영(fallbackExecution)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onQuestionVoiceChanged(QuestionVoiceChangedEvent event) {
+        refresh(event.getQuestionContent(), event.getAccessUrl());
+        try {
+            stringRedisTemplate.convertAndSend(REFRESH_CHANNEL, event.getQuestionContent().name() + MESSAGE_DELIMITER + event.getAccessUrl());
+        } catch (RuntimeException e) { // 전파 실패 시 다른 서버는 재시작 전까지 이전 url 사용 -> 로그로 확인
+            log.warn("질문 음성 url 캐시 갱신 전파 실패 error = {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) { // 다른 서버에서 저장한 질문 음성 url 반영
+        String[] values = new String(message.getBody(), StandardCharsets.UTF_8).split(MESSAGE_DELIMITER, 2);
+        if (values.length != 2) {
+            return;
+        }
+        try {
+            refresh(QuestionContent.valueOf(values[0]), values[1]);
+        } catch (IllegalArgumentException e) {
+            log.warn("알 수 없는 질문 음성 url 갱신 메시지 = {}", values[0]);
+        }
+    }
+
+    public synchronized void refresh(QuestionContent questionContent, String accessUrl) {
+        Map<QuestionContent, String> refreshed = new EnumMap<>(QuestionContent.class);
+        refreshed.putAll(accessUrls);
+        refreshed.put(questionContent, accessUrl);
+        accessUrls = Collections.unmodifiableMap(refreshed);
+    }
+}
@@ -0,0 +1,136 @@
+package com.project.doongdoong.domain.voice.service;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.project.doongdoong.domain.voice.model.VoiceDeleteOutbox;
+import com.project.doongdoong.domain.voice.repository.VoiceDeleteOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * voice 삭제 outbox 를 주기적으로 비우는 작업
+ * 요청 트랜잭션에서는 outbox 행만 남기고, S3 삭제는 여기서 DeleteObjects 로 한 번에 처리한다.
+ * 실패한 key 는 지수 백오프로 다시 시도하며, 여러 인스턴스가 같은 행을 처리해도 S3 삭제는 멱등이라 문제 없다.
+ */
+@Slf4j
+@Component
+public class VoiceDeleteOutboxWorker {
+
+    private static final int S3_DELETE_MAX_KEYS = 1000; // DeleteObjects 요청 1회 최대 key 개수
+    private static final String METRIC_PREFIX = "voice.delete.outbox";
+
+    private final AmazonS3Client amazonS3Client;
+    private final VoiceDeleteOutboxRepository voiceDeleteOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long retryBaseSeconds;
+    private final long retryMaxSeconds;
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Counter deletedCounter;
+    private final Counter failedCounter;
+
+    public VoiceDeleteOutboxWorker(AmazonS3Client amazonS3Client, VoiceDeleteOutboxRepository voiceDeleteOutboxRepository
+            , TransactionTemplate transactionTemplate, MeterRegistry meterRegistry
+            , @Value("${cloud.aws.bucket}") String bucketName
+            , @Value("${voice.delete-outbox.batch-size:1000}") int batchSize
+            , @Value("${voice.delete-outbox.max-batches-per-run:10}") int maxBatchesPerRun
+            , @Value("${voice.delete-outbox.retry-base-seconds:10}") long retryBaseSeconds
+            , @Value("${voice.delete-outbox.retry-max-seconds:3600}") long retryMaxSeconds) {
+        this.amazonS3Client = amazonS3Client;
+        this.voiceDeleteOutboxRepository = voiceDeleteOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.bucketName = bucketName;
+        this.batchSize = Math.min(batchSize, S3_DELETE_MAX_KEYS);
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retryBaseSeconds = retryBaseSeconds;
+        this.retryMaxSeconds = retryMaxSeconds;
+        Gauge.builder(METRIC_PREFIX + ".depth", queueDepth, AtomicLong::get).register(meterRegistry);
+        this.deletedCounter = Counter.builder(METRIC_PREFIX + ".deleted").register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_PREFIX + ".failed").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${voice.delete-outbox.initial-delay-millis:10000}"
+            , fixedDelayString = "${voice.delete-outbox.poll-interval-millis:5000}")
+    public void drain() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (drainBatch() < batchSize) { // 남은 처리 대상 없음
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("음성 파일 삭제 outbox 처리 오류 -> {}", e.getMessage());
+        } finally {
+            queueDepth.set(voiceDeleteOutboxRepository.count()); // 재시도 대기 중인 행 포함
+        }
+    }
+
+    int drainBatch() {
+        List<VoiceDeleteOutbox> batch = voiceDeleteOutboxRepository
+                .findByNextAttemptTimeLessThanEqualOrderByIdAsc(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> failedKeys = deleteObjects(batch.stream().map(VoiceDeleteOutbox::getObjectKey).distinct().toList());
+
+        List<Long> deletedIds = batch.stream()
+                .filter(outbox -> !failedKeys.contains(outbox.getObjectKey()))
+                .map(VoiceDeleteOutbox::getId)
+                .toList();
+        List<VoiceDeleteOutbox> failed = batch.stream()
+                .filter(outbox -> failedKeys.contains(outbox.getObjectKey()))
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deletedIds.isEmpty()) {
+                voiceDeleteOutboxRepository.deleteAllByIdIn(deletedIds);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            failed.forEach(outbox -> voiceDeleteOutboxRepository.scheduleRetry(outbox.getId(), now.plusSeconds(backoffSeconds(outbox.getAttempts()))));
+        });
+        deletedCounter.increment(deletedIds.size());
+        failedCounter.increment(failed.size());
+        return batch.size();
+    }
+
+    private Set<String> deleteObjects(List<String> keys) {
+        Set<String> failedKeys = new HashSet<>();
+        try {
+            List<KeyVersion> keyVersions = keys.stream().map(KeyVersion::new).toList();
+            amazonS3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(keyVersions).withQuiet(true)); // 없는 key 는 S3 에서 성공으로 처리
+        } catch (MultiObjectDeleteException e) {
+            e.getErrors().forEach(error -> {
+                log.warn("음성 파일 삭제 실패 -> key = {}, {}", error.getKey(), error.getMessage());
+                failedKeys.add(error.getKey());
+            });
+        } catch (SdkClientException e) {
+            log.warn("음성 파일 삭제 요청 실패 -> {}", e.getMessage());
+            failedKeys.addAll(keys);
+        }
+        return failedKeys;
+    }
+
+    private long backoffSeconds(int attempts) {
+        long backoff = retryBaseSeconds << Math.min(attempts, 20); // 10s, 20s, 40s ...
+        return Math.min(backoff, retryMaxSeconds);
+    }
+}
@@ -3,9 +3,12 @@ package com.project.doongdoong.domain.voice.service;
 import com.project.doongdoong.domain.question.model.QuestionContent;
 import com.project.doongdoong.domain.voice.dto.request.VoiceSaveRequestDto;
 import com.project.doongdoong.domain.voice.dto.response.VoiceDetailResponseDto;
+import com.project.doongdoong.domain.voice.dto.response.VoiceUploadUrlResponseDto;
 import com.project.doongdoong.domain.voice.dto.response.VoicesResponseDto;
+import com.project.doongdoong.domain.voice.model.Voice;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface VoiceService {
@@ -13,10 +16,25 @@ public interface VoiceService {
 
     public VoiceDetailResponseDto saveVoice(MultipartFile multipartFile);
 
+    public Voice uploadVoice(String originalName, InputStream inputStream, long contentLength); // S3 업로드만 하고 저장은 호출 측 트랜잭션에서, contentLength 를 모르면 -1
+
+    public void discardUploadedVoice(Voice voice); // uploadVoice 이후 저장 실패 시 업로드한 파일 삭제
+
+    public VoiceUploadUrlResponseDto createUploadUrl(String originalName, Long userId, Long analysisId, Long questionId); // 클라이언트 직접 업로드용 pre-signed PUT URL, 확인되지 않으면 만료 후 삭제
+
+    public void checkUploadReservation(String objectKey, String originalName, Long userId, Long analysisId, Long questionId); // 1. 발급한 사용자, 분석, 질문의 key 인지 확인
+
+    public long checkUploadedObject(String objectKey); // 2. 트랜잭션 밖에서 S3 업로드 여부, 크기 확인
+
+    public VoiceDetailResponseDto confirmUploadedVoice(String objectKey, String originalName, long sizeBytes
+            , Long userId, Long analysisId, Long questionId); // 3. 업로드 예약을 지우고 voice 저장
+
     public void deleteVoice(String imageUrl);
 
     public void deleteVoices(List<String> voiceUrls);
 
+    public void deleteAllVoices(List<Voice> voices); // 이미 조회된 voice 를 한 번에 삭제, S3 파일은 outbox 를 통해 비동기 삭제
+
     public VoiceDetailResponseDto saveTtsVoice(byte[] bytes, String originName, QuestionContent questionContent);
 
 }
@@ -1,29 +1,55 @@
 package com.project.doongdoong.domain.voice.service;
 
 import com.amazonaws.SdkClientException;
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.project.doongdoong.domain.image.exception.FileDeleteException;
 import com.project.doongdoong.domain.image.exception.FileEmptyException;
 import com.project.doongdoong.domain.image.exception.FileUploadException;
 import com.project.doongdoong.domain.question.model.QuestionContent;
+import com.project.doongdoong.domain.voice.dto.response.VoiceUploadUrlResponseDto;
+import com.project.doongdoong.domain.voice.event.QuestionVoiceChangedEvent;
+import com.project.doongdoong.domain.voice.exception.VoiceConflictException;
+import com.project.doongdoong.domain.voice.exception.VoiceObjectNotFoundException;
+import com.project.doongdoong.domain.voice.exception.VoiceTooLargeException;
+import com.project.doongdoong.domain.voice.exception.VoiceUploadWrongException;
 import com.project.doongdoong.domain.voice.exception.VoiceUrlNotFoundException;
 import org.apache.commons.io.FilenameUtils;
 import com.project.doongdoong.domain.voice.dto.request.VoiceSaveRequestDto;
 import com.project.doongdoong.domain.voice.dto.response.VoiceDetailResponseDto;
 import com.project.doongdoong.domain.voice.dto.response.VoicesResponseDto;
 import com.project.doongdoong.domain.voice.model.Voice;
+import com.project.doongdoong.domain.voice.model.VoiceDeleteOutbox;
+import com.project.doongdoong.domain.voice.repository.VoiceDeleteOutboxRepository;
 import com.project.doongdoong.domain.voice.repository.VoiceRepository;
+import com.project.doongdoong.global.util.AudioNormalizer;
+import com.project.doongdoong.global.util.AudioNormalizer.NormalizedAudio;
+import com.project.doongdoong.global.util.ParallelS3Uploader;
+import com.project.doongdoong.global.util.S3StreamUploader;
+import com.project.doongdoong.global.util.SizeLimitInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Service @Slf4j
 @RequiredArgsConstructor
@@ -31,54 +57,214 @@ import java.util.List;
 public class VoiceServiceImp implements VoiceService{
 
     private static final String VOICE_KEY = "voice/";
+    private static final Pattern UPLOADED_VOICE_KEY_PATTERN = Pattern.compile("^voice/[0-9a-f\\-]{36}\\.(mp3|m4a|wav)$", Pattern.CASE_INSENSITIVE);
 
     @Value("${cloud.aws.bucket}")
     private String bucketName;
+    @Value("${s3.presigned-url.expiration-seconds:600}")
+    private long presignedUrlExpirationSeconds;
+    @Value("${s3.presigned-upload.cleanup-delay-seconds:3600}")
+    private long presignedUploadCleanupDelaySeconds; // URL 만료 후 확인(confirm)을 기다리는 시간
+    @Value("${s3.presigned-upload.max-size-bytes:52428800}")
+    private long presignedUploadMaxSizeBytes; // 50MB
+    @Value("${s3.stream-upload.max-size-bytes:52428800}")
+    private long streamUploadMaxSizeBytes; // 50MB
     private final AmazonS3Client amazonS3Client;
     private final VoiceRepository voiceRepository;
+    private final VoiceDeleteOutboxRepository voiceDeleteOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final S3StreamUploader s3StreamUploader;
+    private final AudioNormalizer audioNormalizer;
+    private final ParallelS3Uploader parallelS3Uploader;
+    private final TransactionTemplate transactionTemplate;
+
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 업로드 동안 DB 커넥션을 잡지 않음
     public VoicesResponseDto saveVoices(VoiceSaveRequestDto saveDto) {
-        VoicesResponseDto resultList = new VoicesResponseDto();
         for(MultipartFile multipartFile : saveDto.getVoices()) {
             if(multipartFile.isEmpty()){
-                new FileEmptyException();
+                throw new FileEmptyException();
             }
-            VoiceDetailResponseDto detailResponseDto = saveVoice(multipartFile);
-            resultList.getVoicesResponse().add(detailResponseDto);
         }
+
+        List<Voice> voices = parallelS3Uploader.uploadAll(saveDto.getVoices(), this::uploadVoice, this::deleteUploadedObject); // 1. S3 병렬 업로드
+        try {
+            transactionTemplate.executeWithoutResult(status -> voiceRepository.saveAll(voices)); // 2. 짧은 트랜잭션 하나로 저장
+        } catch (RuntimeException e) {
+            parallelS3Uploader.compensate(voices, this::deleteUploadedObject); // 저장 실패 시 업로드한 파일 삭제
+            throw e;
+        }
+
+        VoicesResponseDto resultList = new VoicesResponseDto();
+        voices.forEach(voice -> resultList.getVoicesResponse().add(VoiceDetailResponseDto.of(voice.getAccessUrl())));
         return resultList;
     }
 
 
     @Override
     public VoiceDetailResponseDto saveVoice(MultipartFile multipartFile) {
-        String originalName = multipartFile.getOriginalFilename();
+        Voice voice = uploadVoice(multipartFile);
+        voiceRepository.save(voice);
+
+        return VoiceDetailResponseDto.of(voice.getAccessUrl());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 업로드 동안 DB 커넥션을 잡지 않음
+    public Voice uploadVoice(String originalName, InputStream inputStream, long contentLength) {
+        if (contentLength > streamUploadMaxSizeBytes) { // 본문을 읽기 전에 거절
+            throw new VoiceTooLargeException();
+        }
+
+        SizeLimitInputStream limitedInputStream = new SizeLimitInputStream(inputStream, streamUploadMaxSizeBytes); // 길이를 모르는(-1) 본문도 읽은 만큼 세서 제한
+        try {
+            return putVoiceObject(originalName, limitedInputStream, contentLength);
+        } catch (RuntimeException e) {
+            if (limitedInputStream.isExceeded()) { // S3 SDK 가 읽기 예외를 감싸서 던지므로 원인을 직접 확인
+                throw new VoiceTooLargeException();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void discardUploadedVoice(Voice voice) {
+        deleteObjectQuietly(VOICE_KEY + voice.getStoredName());
+    }
+
+    private Voice uploadVoice(MultipartFile multipartFile) {
+        try (InputStream inputStream = multipartFile.getInputStream()) { // available() 대신 실제 파일 크기 사용
+            return putVoiceObject(multipartFile.getOriginalFilename(), inputStream, multipartFile.getSize());
+        } catch (IOException e) {
+            log.error("음성 파일 업로드 오류 -> {}", e.getMessage());
+            throw new FileUploadException();
+        }
+    }
+
+    private Voice putVoiceObject(String originalName, InputStream inputStream, long contentLength) {
+        String contentType = getContentTypeFromFilename(originalName); // 확장자를 기반으로 MIME 타입 결정
         Voice voice = new Voice(originalName);
         String filename = VOICE_KEY + voice.getStoredName();
 
         log.info("음성 파일 저장 시작");
         try {
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            String contentType = getContentTypeFromFilename(originalName); // 확장자를 기반으로 MIME 타입 결정
-            objectMetadata.setContentType(contentType); // MIME 타입 설정
-            objectMetadata.setContentLength(multipartFile.getInputStream().available());
-
-            amazonS3Client.putObject(bucketName, filename, multipartFile.getInputStream(), objectMetadata);
+            NormalizedAudio audio = audioNormalizer.normalize(FilenameUtils.getExtension(originalName), inputStream, contentLength); // wav 는 16kHz mono 로 변환(설정 시)
+            long uploadedBytes = s3StreamUploader.upload(bucketName, filename, contentType, audio.inputStream(), audio.contentLength()); // 스트림 그대로 전달, 큰 파일은 multipart
+            voice.changeAudioMetadata(uploadedBytes, audio.durationMillis());
 
             String accessUrl = amazonS3Client.getUrl(bucketName, filename).toString();
             voice.changeAccessUrl(accessUrl);
         } catch(SdkClientException | IOException e) {
             log.error("음성 파일 업로드 오류 -> {}", e.getMessage());
-            new FileUploadException();
+            throw new FileUploadException();
         }
         log.info("음성 파일 저장 종료");
+        return voice;
+    }
 
-        voiceRepository.save(voice);
+    @Override
+    @Transactional
+    public VoiceUploadUrlResponseDto createUploadUrl(String originalName, Long userId, Long analysisId, Long questionId) {
+        String contentType = getContentTypeFromFilename(originalName); // 지원하지 않는 확장자는 URL 발급 전에 거절
+        Voice voice = new Voice(originalName);
+        String objectKey = VOICE_KEY + voice.getStoredName();
+        Date expiration = new Date(System.currentTimeMillis() + presignedUrlExpirationSeconds * 1000);
+
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, objectKey, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+        URL uploadUrl = amazonS3Client.generatePresignedUrl(request); // 로컬 서명만 하므로 S3 호출 없음
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault());
+        voiceDeleteOutboxRepository.save(VoiceDeleteOutbox.uploadReservationBuilder() // 확인되지 않고 남은 업로드 파일 삭제 예약 + 확인 가능한 요청 기록
+                .objectKey(objectKey)
+                .nextAttemptTime(expiresAt.plusSeconds(presignedUploadCleanupDelaySeconds))
+                .userId(userId)
+                .analysisId(analysisId)
+                .questionId(questionId)
+                .build());
+
+        return VoiceUploadUrlResponseDto.builder()
+                .uploadUrl(uploadUrl.toString())
+                .objectKey(objectKey)
+                .contentType(contentType)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Override
+    public void checkUploadReservation(String objectKey, String originalName, Long userId, Long analysisId, Long questionId) {
+        if (!UPLOADED_VOICE_KEY_PATTERN.matcher(objectKey).matches()) {
+            throw new VoiceUploadWrongException();
+        }
+        getContentTypeFromFilename(originalName);
+
+        if (voiceRepository.existsByAccessUrl(amazonS3Client.getUrl(bucketName, objectKey).toString())) { // 같은 파일을 두 답변에 연결하지 않음
+            throw new VoiceConflictException();
+        }
+        if (!voiceDeleteOutboxRepository.existsByObjectKeyAndUserIdAndAnalysisIdAndQuestionId(objectKey, userId, analysisId, questionId)) { // 같은 사용자, 분석, 질문으로 발급한 key 만 허용
+            throw new VoiceUploadWrongException();
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // S3 HEAD 요청 동안 DB 커넥션을 잡지 않음
+    public long checkUploadedObject(String objectKey) {
+        ObjectMetadata metadata;
+        try {
+            metadata = amazonS3Client.getObjectMetadata(bucketName, objectKey); // HEAD 요청으로 업로드 여부 확인
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                throw new VoiceObjectNotFoundException();
+            }
+            log.error("업로드된 음성 파일 확인 오류 -> {}", e.getMessage());
+            throw new FileUploadException();
+        } catch (SdkClientException e) {
+            log.error("업로드된 음성 파일 확인 오류 -> {}", e.getMessage());
+            throw new FileUploadException();
+        }
+
+        if (metadata.getContentLength() <= 0 || metadata.getContentLength() > presignedUploadMaxSizeBytes) { // pre-signed PUT 은 크기를 제한할 수 없으므로 여기서 확인
+            deleteObjectQuietly(objectKey); // 예약 확인 이후에만 호출되므로 다른 사용자의 파일은 지우지 않음
+            throw new VoiceUploadWrongException();
+        }
+        return metadata.getContentLength();
+    }
+
+    @Override
+    @Transactional
+    public VoiceDetailResponseDto confirmUploadedVoice(String objectKey, String originalName, long sizeBytes
+            , Long userId, Long analysisId, Long questionId) {
+        if (voiceDeleteOutboxRepository.deleteUploadReservation(objectKey, userId, analysisId, questionId) == 0) { // HEAD 요청 사이에 다른 요청이 먼저 확인
+            throw new VoiceConflictException();
+        }
+
+        Voice voice = Voice.uploadedVoiceBuilder()
+                .originName(originalName)
+                .storedName(objectKey.substring(VOICE_KEY.length()))
+                .build();
+        voice.changeAccessUrl(amazonS3Client.getUrl(bucketName, objectKey).toString());
+        voice.changeAudioMetadata(sizeBytes, null); // 서버를 거치지 않으므로 변환, 재생 시간 계산 없음
+        try {
+            voiceRepository.save(voice); // IDENTITY 라 바로 insert
+        } catch (DataIntegrityViolationException e) { // 같은 key 를 동시에 확인하면 unique 인덱스로 하나만 저장
+            throw new VoiceConflictException();
+        }
 
         return VoiceDetailResponseDto.of(voice.getAccessUrl());
     }
 
+    private void deleteUploadedObject(Voice voice) {
+        amazonS3Client.deleteObject(bucketName, VOICE_KEY + voice.getStoredName());
+    }
+
+    private void deleteObjectQuietly(String objectKey) {
+        try {
+            amazonS3Client.deleteObject(bucketName, objectKey);
+        } catch (SdkClientException e) {
+            log.warn("음성 파일 삭제 실패 -> key = {}, {}", objectKey, e.getMessage());
+        }
+    }
+
     private String getContentTypeFromFilename(String filename) {
         String extension = FilenameUtils.getExtension(filename).toLowerCase();
         switch (extension) {
@@ -94,34 +280,37 @@ public class VoiceServiceImp implements VoiceService{
     }
 
     @Override
+    @Transactional
     public void deleteVoice(String imageUrl) {
         Voice voice = voiceRepository.findByAccessUrl(imageUrl).orElseThrow(() -> new VoiceUrlNotFoundException());
-        try{
-            voiceRepository.delete(voice);
-            String filename = VOICE_KEY + voice.getStoredName();
-            boolean isObjectExist = amazonS3Client.doesObjectExist(bucketName, filename);
-            if (isObjectExist) {
-                amazonS3Client.deleteObject(bucketName, filename);
-            } else {
-                log.info("s3 파일이 존재하지 않습니다.");
-            }
-            amazonS3Client.deleteObject(bucketName, filename);
-        }
-        catch(SdkClientException e) {
-            log.error("음성 파일 삭제 오류 -> {}", e.getMessage());
-            new FileDeleteException();
-        }
+        deleteAllVoices(List.of(voice));
     }
 
     @Override
     @Transactional
     public void deleteVoices(List<String> voiceUrls) {
-        for (String voiceUrl : voiceUrls) {
-            deleteVoice(voiceUrl);
+        if (voiceUrls.isEmpty()) {
+            return;
+        }
+        deleteAllVoices(voiceRepository.findAllByAccessUrlIn(voiceUrls)); // url 목록을 한 번에 조회
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllVoices(List<Voice> voices) {
+        if (voices.isEmpty()) {
+            return;
         }
+        List<Long> voiceIds = voices.stream().map(Voice::getVoiceId).toList();
+        voiceRepository.deleteAllByVoiceIdIn(voiceIds); // 1. delete ... where voice_id in (...) 한 번
 
+        List<VoiceDeleteOutbox> outboxes = voices.stream()
+                .map(voice -> new VoiceDeleteOutbox(VOICE_KEY + voice.getStoredName()))
+                .toList();
+        voiceDeleteOutboxRepository.saveAll(outboxes); // 2. 같은 트랜잭션에서 outbox 기록, S3 삭제는 VoiceDeleteOutboxWorker 가 처리
     }
 
+    @Transactional
     @Override
     public VoiceDetailResponseDto saveTtsVoice(byte[] audioContent, String originName, QuestionContent questionContent) {
 
@@ -139,7 +328,9 @@ public class VoiceServiceImp implements VoiceService{
 
             String accessUrl = amazonS3Client.getUrl(bucketName, filename).toString();
             voice.changeAccessUrl(accessUrl);
+            voice.changeAudioMetadata((long) audioContent.length, null);
             voiceRepository.save(voice);
+            eventPublisher.publishEvent(new QuestionVoiceChangedEvent(questionContent, accessUrl)); // 커밋 후 모든 서버의 질문 음성 캐시 갱신
 
         } catch(SdkClientException e) {
             log.error("TTS 음성 파일 업로드 오류 -> {}", e.getMessage());
@@ -0,0 +1,126 @@
+package com.project.doongdoong.global.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 로컬(Caffeine) L1 + Redis L2 읽기 캐시
+ * L1 -> L2 -> loader(DB) 순서로 조회하고, L2 값은 CBOR(바이너리 JSON)로 저장한다.
+ * Redis 장애 시에는 캐시 없이 loader 결과를 그대로 반환한다.
+ * 삭제는 즉시 + 트랜잭션 종료 후 두 번 수행하고, 다른 서버의 L1 도 지우도록 EVICT_CHANNEL 로 키를 발행한다.
+ */
+@Slf4j
+public class LayeredCache<V> implements MessageListener {
+
+    public static final String EVICT_CHANNEL = "cache:evict";
+
+    private final String name;
+    private final Class<V> type;
+    private final Cache<String, V> localCache;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate; // null 이면 L1 만 사용
+    private final ObjectMapper binaryMapper;
+    private final Duration redisTtl;
+
+    public LayeredCache(String name, Class<V> type, Cache<String, V> localCache
+            , RedisTemplate<String, byte[]> binaryRedisTemplate, ObjectMapper binaryMapper, Duration redisTtl) {
+        this.name = name;
+        this.type = type;
+        this.localCache = localCache;
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.binaryMapper = binaryMapper;
+        this.redisTtl = redisTtl;
+    }
+
+    public V get(Object key, Supplier<V> loader) {
+        String cacheKey = cacheKeyOf(key);
+        V local = localCache.getIfPresent(cacheKey);
+        if (local != null) {
+            return local;
+        }
+
+        V remote = readRemote(cacheKey);
+        if (remote != null) {
+            localCache.put(cacheKey, remote);
+            return remote;
+        }
+
+        V loaded = loader.get(); // 조회 실패(예외)는 캐시하지 않음
+        if (loaded != null) {
+            writeRemote(cacheKey, loaded);
+            localCache.put(cacheKey, loaded);
+        }
+        return loaded;
+    }
+
+    public void evict(Object key) {
+        String cacheKey = cacheKeyOf(key);
+        doEvict(cacheKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) { // 커밋 전 다른 요청이 이전 값을 다시 적재할 수 있으므로 트랜잭션 종료 후 한 번 더 삭제
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    doEvict(cacheKey);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) { // 다른 서버에서 삭제한 키의 L1 제거
+        String cacheKey = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (cacheKey.startsWith(name + ":")) {
+            localCache.invalidate(cacheKey);
+        }
+    }
+
+    private void doEvict(String cacheKey) {
+        localCache.invalidate(cacheKey);
+        if (binaryRedisTemplate == null) {
+            return;
+        }
+        try {
+            binaryRedisTemplate.delete(cacheKey);
+            binaryRedisTemplate.convertAndSend(EVICT_CHANNEL, cacheKey.getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warn("캐시 삭제 실패 key = {}, error = {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private V readRemote(String cacheKey) {
+        if (binaryRedisTemplate == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = binaryRedisTemplate.opsForValue().get(cacheKey);
+            return bytes == null ? null : binaryMapper.readValue(bytes, type);
+        } catch (Exception e) {
+            log.warn("캐시 조회 실패 key = {}, error = {}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(String cacheKey, V value) {
+        if (binaryRedisTemplate == null) {
+            return;
+        }
+        try {
+            binaryRedisTemplate.opsForValue().set(cacheKey, binaryMapper.writeValueAsBytes(value), redisTtl);
+        } catch (Exception e) {
+            log.warn("캐시 저장 실패 key = {}, error = {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private String cacheKeyOf(Object key) {
+        return name + ":" + key;
+    }
+}
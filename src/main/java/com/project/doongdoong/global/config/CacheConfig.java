@@ -0,0 +1,87 @@
+package com.project.doongdoong.global.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisDetailResponse;
+import com.project.doongdoong.domain.counsel.dto.response.CounselDetailResponse;
+import com.project.doongdoong.global.cache.LayeredCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * 분석, 상담 상세 조회 응답 캐시
+ * 분석 결과 저장, 분석 삭제, 상담 저장 시 삭제한다.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String ANALYSIS_DETAIL_CACHE = "analysis:detail";
+    public static final String COUNSEL_DETAIL_CACHE = "counsel:detail";
+
+    @Value("${cache.detail.local-ttl-seconds:30}")
+    private long localTtlSeconds; // 다른 서버의 삭제 메시지를 놓쳐도 이 시간 이후에는 갱신
+    @Value("${cache.detail.local-max-size:10000}")
+    private long localMaxSize;
+    @Value("${cache.detail.redis-ttl-seconds:600}")
+    private long redisTtlSeconds;
+    @Value("${cache.detail.redis-enabled:true}")
+    private boolean redisEnabled;
+
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        return redisTemplate;
+    }
+
+    @Bean
+    public LayeredCache<AnalysisDetailResponse> analysisDetailCache(RedisTemplate<String, byte[]> binaryRedisTemplate
+            , RedisMessageListenerContainer redisMessageListenerContainer, MeterRegistry meterRegistry) {
+        return layeredCache(ANALYSIS_DETAIL_CACHE, AnalysisDetailResponse.class, binaryRedisTemplate, redisMessageListenerContainer, meterRegistry);
+    }
+
+    @Bean
+    public LayeredCache<CounselDetailResponse> counselDetailCache(RedisTemplate<String, byte[]> binaryRedisTemplate
+            , RedisMessageListenerContainer redisMessageListenerContainer, MeterRegistry meterRegistry) {
+        return layeredCache(COUNSEL_DETAIL_CACHE, CounselDetailResponse.class, binaryRedisTemplate, redisMessageListenerContainer, meterRegistry);
+    }
+
+    private <V> LayeredCache<V> layeredCache(String name, Class<V> type, RedisTemplate<String, byte[]> binaryRedisTemplate
+            , RedisMessageListenerContainer redisMessageListenerContainer, MeterRegistry meterRegistry) {
+        Cache<String, V> localCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .maximumSize(localMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name);
+
+        LayeredCache<V> layeredCache = new LayeredCache<>(name, type, localCache
+                , redisEnabled ? binaryRedisTemplate : null, binaryMapper(), Duration.ofSeconds(redisTtlSeconds));
+        if (redisEnabled) {
+            redisMessageListenerContainer.addMessageListener(layeredCache, new ChannelTopic(LayeredCache.EVICT_CHANNEL));
+        }
+        return layeredCache;
+    }
+
+    private static ObjectMapper binaryMapper() {
+        return CBORMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES) // 응답 필드가 추가되어도 기존 캐시 값 사용 가능
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.doongdoong.global.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Configuration
+public class LambdaResilienceConfig {
+
+    public static final String LAMBDA_TEXT = "lambdaText";
+    public static final String LAMBDA_VOICE = "lambdaVoice";
+    public static final String LAMBDA_CONSULT = "lambdaConsult";
+    public static final String LAMBDA_TEXT_BATCH = "lambdaTextBatch";
+    public static final String LAMBDA_VOICE_BATCH = "lambdaVoiceBatch";
+
+    @Value("${lambda.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold; // 실패율(%)이 넘으면 OPEN
+    @Value("${lambda.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+    @Value("${lambda.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls;
+    @Value("${lambda.circuit-breaker.wait-duration-in-open-state-seconds:30}")
+    private long waitDurationInOpenStateSeconds; // OPEN 유지 시간, 이후 HALF_OPEN 으로 일부 호출 허용
+    @Value("${lambda.circuit-breaker.permitted-calls-in-half-open-state:3}")
+    private int permittedCallsInHalfOpenState;
+
+    @Bean
+    public CircuitBreakerRegistry lambdaCircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(Duration.ofSeconds(waitDurationInOpenStateSeconds))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .recordException(LambdaResilienceConfig::isServerSideFailure) // 4xx는 lambda 장애가 아니므로 실패로 집계 X
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry); // resilience4j.circuitbreaker.* 메트릭
+
+        registry.getEventPublisher().onEntryAdded(entryAddedEvent -> {
+            CircuitBreaker circuitBreaker = entryAddedEvent.getAddedEntry();
+            circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                log.warn("lambda 서킷 브레이커 상태 변경 name = {}, transition = {}", event.getCircuitBreakerName(), event.getStateTransition());
+                meterRegistry.counter("lambda.circuitbreaker.state.transition",
+                        "name", event.getCircuitBreakerName(),
+                        "from", event.getStateTransition().getFromState().name(),
+                        "to", event.getStateTransition().getToState().name()
+                ).increment();
+            });
+        });
+        List.of(LAMBDA_TEXT, LAMBDA_VOICE, LAMBDA_CONSULT, LAMBDA_TEXT_BATCH, LAMBDA_VOICE_BATCH).forEach(registry::circuitBreaker); // 시작 시 생성해서 메트릭 미리 노출
+
+        return registry;
+    }
+
+    /**
+     * lambda 측 장애로 볼 수 있는 실패 여부
+     * 연결 실패, 응답 시간 초과, 5xx, 429(스로틀링)
+     */
+    public static boolean isServerSideFailure(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == 429;
+        }
+        return throwable instanceof WebClientRequestException || throwable instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.doongdoong.global.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableScheduling // VoiceDeleteOutboxWorker 등 @Scheduled 작업 실행
+public class SchedulerConfig {
+
+    /**
+     * 리액티브 체인 안에서 JPA(블로킹 I/O)를 실행할 때 사용하는 스케줄러
+     * netty 이벤트 루프나 parallel 스케줄러에서 DB 작업을 하지 않도록 boundedElastic 으로 분리
+     */
+    @Bean
+    public Scheduler jdbcScheduler() {
+        return Schedulers.boundedElastic();
+    }
+}
@@ -2,6 +2,7 @@
 
     import com.project.doongdoong.global.fliter.JwtAuthFilter;
     import com.project.doongdoong.global.util.JwtProvider;
+    import jakarta.servlet.DispatcherType;
     import lombok.RequiredArgsConstructor;
     import lombok.extern.slf4j.Slf4j;
     import org.springframework.context.annotation.Bean;
@@ -11,6 +12,12 @@
     import org.springframework.security.config.http.SessionCreationPolicy;
     import org.springframework.security.web.SecurityFilterChain;
     import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+    import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+    import org.springframework.security.web.util.matcher.OrRequestMatcher;
+    import org.springframework.security.web.util.matcher.RequestMatcher;
+
+    import java.util.Arrays;
+    import java.util.stream.Collectors;
 
     @Configuration @Slf4j
     @EnableWebSecurity
@@ -22,6 +29,11 @@
                 "/", "/api/v1/user/ping", "/api/v1/user/login-oauth", "/api/v1/user/reissue",
                 "/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/actuator/**"
         };
+        // 인가 설정과 JwtAuthFilter 가 같은 matcher 를 공유, 시작 시 한 번만 패턴 컴파일
+        public final static RequestMatcher ALLOW_REQUEST_MATCHER = new OrRequestMatcher(
+                Arrays.stream(ALLOW_REQUEST)
+                        .map(AntPathRequestMatcher::antMatcher)
+                        .collect(Collectors.toList()));
         @Bean
         public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
@@ -34,7 +46,8 @@
                      SessionCreationPolicy는 네가지 값이 존재합니다. 주의해야 할 점은 NEVER는 세션을 아예 사용하지 않겠다는 뜻이 아니라는 점에 유의해야 합니다
                      */
                     .authorizeHttpRequests(auth -> auth
-                            .requestMatchers(ALLOW_REQUEST).permitAll()
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll() // Mono 응답의 재디스패치, 최초 REQUEST 디스패치에서 이미 인가됨
+                            .requestMatchers(ALLOW_REQUEST_MATCHER).permitAll()
                                     .anyRequest().authenticated()
                     )/*.oauth2Login( oauth2 -> oauth2
                             .successHandler(successHandler())
@@ -42,7 +55,7 @@
                                     .userService(oAuth2UserService))
 
                     )*/ // native app 형식이라 프론트(ios)에서 sdk로 모든 소셜 과정 처리 -> oauth2 clinet 대신 security가 제공하는 기본 값 사용하자
-                    .addFilterBefore(new JwtAuthFilter(jwtProvider), UsernamePasswordAuthenticationFilter.class)
+                    .addFilterBefore(new JwtAuthFilter(jwtProvider, ALLOW_REQUEST_MATCHER), UsernamePasswordAuthenticationFilter.class)
                     .build();
                      // 추후 웹 사용으로 인해 위 설정이 필요하다면 블로그 링크를 통해 다시 구현
                     //웹과 다르게 앱에서는 카카오 SDK와 같이 클라이언트 측에서 직접 OAuth 검증을 하므로 필요가 없음.
@@ -1,30 +1,70 @@
 package com.project.doongdoong.global.config;
 
 import io.netty.channel.ChannelOption;
-import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.codec.LoggingCodecSupport;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Function;
 
 @Slf4j
 @Configuration
 public class WebClientConfig {
 
     private final String baseUrl = "http://localhost:5000";
+    private static final String LAMBDA_CONNECTION_PROVIDER_NAME = "lambda"; // reactor.netty.connection.provider.* 메트릭의 name 태그
+
+    @Value("${lambda.client.max-connections:64}")
+    private int maxConnections; // 분석 1건당 최대 8개 동시 호출 -> 동시 분석 수 * 8 기준으로 설정
+    @Value("${lambda.client.pending-acquire-max-count:256}")
+    private int pendingAcquireMaxCount; // 커넥션 획득 대기열 크기, 초과 시 즉시 실패
+    @Value("${lambda.client.pending-acquire-timeout-millis:45000}")
+    private long pendingAcquireTimeoutMillis;
+    @Value("${lambda.client.max-idle-time-seconds:30}")
+    private long maxIdleTimeSeconds; // lambda(ALB) idle timeout 보다 짧게 설정해서 끊긴 커넥션 재사용 방지
+    @Value("${lambda.client.max-life-time-seconds:300}")
+    private long maxLifeTimeSeconds;
+    @Value("${lambda.client.evict-interval-seconds:60}")
+    private long evictIntervalSeconds;
+    @Value("${lambda.client.connect-timeout-millis:5000}")
+    private int connectTimeoutMillis; // 응답 제한 시간은 WebClientUtil 에서 엔드포인트 별로 적용
+    @Value("${lambda.client.read-timeout-seconds:180}")
+    private int readTimeoutSeconds; // 커넥션 단위 안전망, 응답 제한 시간보다 길게 설정
+    @Value("${lambda.client.write-timeout-seconds:180}")
+    private int writeTimeoutSeconds;
+    @Value("${lambda.client.http2-enabled:false}")
+    private boolean http2Enabled;
+    @Value("${spring.lambda.text.url:}")
+    private String lambdaApiUrl; // http2 사용 시 TLS(h2) / 평문(h2c) 여부 판단 기준
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider lambdaConnectionProvider() {
+        return ConnectionProvider.builder(LAMBDA_CONNECTION_PROVIDER_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictIntervalSeconds))
+                .metrics(true) // micrometer 로 커넥션 풀 상태 노출
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient lambdaWebClient(ConnectionProvider lambdaConnectionProvider) { // lambda API 전용 공유 클라이언트, 호출마다 새로 만들지 않음
 
         ExchangeStrategies exchangeStrategies = ExchangeStrategies.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024*1024*50))
@@ -34,26 +74,24 @@ public class WebClientConfig {
                 .filter(LoggingCodecSupport.class::isInstance)
                 .forEach(writer -> ((LoggingCodecSupport)writer).setEnableLoggingRequestDetails(true));
 
+        HttpClient httpClient = HttpClient
+                .create(lambdaConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis) // timeout 설정
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .compress(true) // gzip 응답 압축 허용
+                .metrics(true, Function.identity()) // lambda url 개수가 적으므로 uri 그대로 태그로 사용
+                .doOnConnected(conn -> conn.addHandlerLast(new ReadTimeoutHandler(readTimeoutSeconds))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeoutSeconds))
+                );
+        if (http2Enabled) {
+            httpClient = lambdaApiUrl.startsWith("https://")
+                    ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure() // ALPN 협상 실패 시 HTTP/1.1 사용
+                    : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11); // 평문은 h2c upgrade, 실패 시 HTTP/1.1 사용
+        }
+
         return WebClient.builder()
-                .clientConnector(
-                        new ReactorClientHttpConnector(
-                                HttpClient
-                                        .create()
-                                        /*.secure( // ssl 관련 설정이 안 됨. 나중에 개선 필요
-                                                ThrowingConsumer.unchecked(
-                                                        sslContextSpec -> sslContextSpec.sslContext(
-                                                                SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build()
-                                                        )
-                                                )
-                                        )*/
-                                        .tcpConfiguration(
-                                                client -> client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 120_000) // timeout 설정
-                                                        .doOnConnected(conn -> conn.addHandlerLast(new ReadTimeoutHandler(180))
-                                                                .addHandlerLast(new WriteTimeoutHandler(180))
-                                                        )
-                                        )
-                        )
-                )
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .baseUrl(baseUrl)
                 .exchangeStrategies(exchangeStrategies)
                 .filter(ExchangeFilterFunction.ofRequestProcessor(
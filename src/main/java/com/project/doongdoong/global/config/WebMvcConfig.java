@@ -0,0 +1,25 @@
+package com.project.doongdoong.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private static final long ASYNC_TIMEOUT_MARGIN_MILLIS = 10_000;
+
+    @Value("${analysis.lambda.total-timeout-millis:200000}")
+    private long lambdaTotalTimeoutMillis;
+
+    /**
+     * Mono 를 반환하는 감정 분석 요청은 비동기 디스패치로 처리된다.
+     * 톰캣 기본 비동기 타임아웃(30초)은 lambda 1회 제한 시간보다 짧으므로, 분석 전체 제한 시간보다 조금 길게 설정해서
+     * 시간 초과는 분석 쪽의 ExternalApiUnavailableException 으로 응답되도록 한다.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(lambdaTotalTimeoutMillis + ASYNC_TIMEOUT_MARGIN_MILLIS);
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.doongdoong.global.dto.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class VoicesToS3Request { // 배치 분석 요청, 분석할 모든 음성 파일 키를 한 번에 전달
+    private List<String> fileKeys;
+
+    @Builder
+    public VoicesToS3Request(List<String> fileKeys) {
+        this.fileKeys = fileKeys;
+    }
+}
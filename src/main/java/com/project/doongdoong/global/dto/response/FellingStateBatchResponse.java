@@ -0,0 +1,14 @@
+package com.project.doongdoong.global.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FellingStateBatchResponse {
+    private List<FellingStateBatchResult> results;
+}
@@ -0,0 +1,14 @@
+package com.project.doongdoong.global.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FellingStateBatchResult {
+    private String fileKey; // 요청한 음성 파일 키, 응답 순서와 상관없이 답변과 매칭하는 기준
+    private String transcribedText;
+    private double feelingState;
+}
@@ -50,4 +50,10 @@ public class CustomException extends RuntimeException{
             super(errorType, detail);
         }
     }
+
+    public abstract static class ServiceUnavailableException extends CustomException {
+        public ServiceUnavailableException(ErrorType.ServerError errorType, String detail) {
+            super(errorType, detail);
+        }
+    }
 }
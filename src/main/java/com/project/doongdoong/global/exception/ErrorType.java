@@ -8,7 +8,10 @@ public interface ErrorType {
         BAD_REQUEST_DEFAULT(0),
         FILE_EMPTY(1),
         NO_MATCHING_QUESTION(2),
-        COUNSEL_TYPE_WRONG(3);
+        COUNSEL_TYPE_WRONG(3),
+        TREND_UNIT_WRONG(4),
+        VOICE_UPLOAD_WRONG(5),
+        VOICE_TOO_LARGE(6);
 
         private final int errorCode;
 
@@ -25,7 +28,8 @@ public interface ErrorType {
     enum Unauthorized implements ErrorType {
         UNAUTHORIZED_DEFAULT(1000),
         LOGIN_FAILED(1001),
-        UNAUTHORIZED_COUNSEL(1002);
+        UNAUTHORIZED_COUNSEL(1002),
+        REFRESH_TOKEN_REUSED(1003);
 
         private final int errorCode;
 
@@ -68,7 +72,8 @@ public interface ErrorType {
         QUESTION_NOT_FOUND(4007),
         ANSWER_NOT_FOUND(4008),
         ALL_ANSWER_NOT_FOUND(4009),
-        COUNSEL_NOT_FOUND(4010);
+        COUNSEL_NOT_FOUND(4010),
+        VOICE_OBJECT_NOT_FOUND(4011);
         private final int errorCode;
 
         NotFound(int errorCode) {
@@ -85,7 +90,9 @@ public interface ErrorType {
         CONFLICT_DEFAULT(9000),
         ANSWER_ALREADY_CREATED(9001),
         COUNSEL_ALREADY_EXIST(9002),
-        ANALYSIS_ALREADY_ANALYZE(9003);
+        ANALYSIS_ALREADY_ANALYZE(9003),
+        ANALYSIS_JOB_ALREADY_REQUESTED(9004),
+        VOICE_ALREADY_CONFIRMED(9005);
 
         private final int errorCode;
 
@@ -103,7 +110,9 @@ public interface ErrorType {
         SERVER_ERROR_DEFAULT(5000),
         FILE_UPLOAD_FAIL(5001),
         FILE_DELETE_FAIL(5002),
-        EXTERNAL_SERVER_ERROR(5003)
+        EXTERNAL_SERVER_ERROR(5003),
+        ANALYSIS_JOB_REJECTED(5004),
+        EXTERNAL_SERVER_UNAVAILABLE(5005)
         ;
 
         private final int errorCode;
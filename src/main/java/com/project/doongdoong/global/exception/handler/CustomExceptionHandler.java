@@ -77,6 +77,13 @@ public class CustomExceptionHandler {
         //return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new ErrorResponse(ex, null));
     }
 
+    // 일시적인 과부하 -> 클라이언트가 잠시 후 재시도할 수 있는 오류
+    @ResponseStatus(value = SERVICE_UNAVAILABLE)
+    @ExceptionHandler(CustomException.ServiceUnavailableException.class)
+    public ErrorResponse handleServiceUnavailable(CustomException ex) {
+        return new ErrorResponse(ex, null);
+    }
+
     /**
      * 커스텀 예외가 아닌 예외 발생 시(커스텀에서 제외된 RuntimeException)에 대한 예외 처리도 필요
      */
@@ -0,0 +1,12 @@
+package com.project.doongdoong.global.exception.servererror;
+
+import com.project.doongdoong.global.exception.CustomException;
+
+import static com.project.doongdoong.global.exception.ErrorType.ServerError.EXTERNAL_SERVER_UNAVAILABLE;
+
+public class ExternalApiUnavailableException extends CustomException.ServerErrorException {
+    public ExternalApiUnavailableException() {
+        super(EXTERNAL_SERVER_UNAVAILABLE, "외부 서버 장애로 인해 요청을 일시적으로 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+
+    }
+}
@@ -15,45 +15,40 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-
-import static com.project.doongdoong.global.config.SecurityConfig.ALLOW_REQUEST;
 
 @RequiredArgsConstructor
 @Slf4j  //@Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final RequestMatcher allowRequestMatcher; // SecurityConfig 의 permitAll 경로와 동일
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) { // 허용한 uri 는 토큰 검사 없이 통과
+        return allowRequestMatcher.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         try{
-            boolean isAllowed = Arrays.stream(ALLOW_REQUEST).anyMatch(uri -> request.getRequestURI().equals(uri));
-            log.info("isAllowed = {}", isAllowed);
-            if(!isAllowed){
-                String requestURI = request.getRequestURI();
-                // request Header에서 AccessToken을 가져온다.
-                String token = resolveToken(request);
-                // 만약 "Bearer "이 붙어서 온다면 제거해줘야 함. 이따 빼주는 로직이 없다면 추가
-                log.info("JWT 필터 검사 시작.");
-                log.info("Bearer 삭제한 token 값 = {}", token);
+            // request Header에서 AccessToken을 가져온다. ("Bearer " 제거)
+            String token = resolveToken(request);
+            log.debug("JWT 필터 검사 시작. uri = {}", request.getRequestURI());
 
-                //토큰이 존재하면서 유효하다면 Authentication 객체 생성
-                //시큐리티 컨텍스트 홀더에 Authentication 저장
-                if(jwtProvider.validateToken(token) && !jwtProvider.checkLogoutToken(token)) {
-                    Authentication authentication = jwtProvider.getAuthentication(token);
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-                log.info("토큰 검증 성공");
-            }else{
-                log.info("허용한 uri");
+            //토큰이 존재하면서 유효하다면 Authentication 객체 생성
+            //시큐리티 컨텍스트 홀더에 Authentication 저장
+            Authentication authentication = jwtProvider.authenticate(token); // 검증 + 인증 객체 생성을 한 번의 파싱으로 처리
+            if(authentication != null && !jwtProvider.checkLogoutToken(token)) { // 로그아웃 여부는 캐시하지 않고 매번 확인
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+            log.debug("토큰 검증 성공");
             filterChain.doFilter(request,response);
 
         }catch (SecurityException | MalformedJwtException e) {
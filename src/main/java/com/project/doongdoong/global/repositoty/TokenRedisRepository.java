@@ -0,0 +1,171 @@
+package com.project.doongdoong.global.repositoty;
+
+import com.project.doongdoong.global.util.TokenHashUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * refresh token 회전 family, 로그아웃(블랙) access token 저장소
+ * 보조 인덱스 없이 SET key value EX ttl 로 저장해서 조회는 GET 한 번, 만료는 redis TTL 에 맡긴다.
+ *  - refresh:family:{familyId} -> 현재 유효한 refresh token id
+ *  - refresh:family:{familyId}:prev -> 직전 refresh token id (재사용 허용 시간 동안만 유지)
+ *  - refresh:user:{uniqueId} -> familyId (사용자 기준 삭제용)
+ *  - black:token:{토큰 해시} -> uniqueId
+ *  - black:user:{uniqueId} -> 토큰 해시 (사용자 기준 삭제용)
+ * 여러 키를 쓰는 작업은 파이프라인으로 한 번에 전송한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TokenRedisRepository {
+
+    private static final String REFRESH_PREFIX = "refresh";
+    private static final String BLACK_PREFIX = "black";
+
+    /**
+     * 현재 token id 가 일치하면 새 id 로 교체하고 직전 id 를 허용 시간 동안 남긴다 -> {1, 새 id}
+     * 직전 id 로 허용 시간 안에 다시 요청하면 (네트워크 재시도, 동시 요청) 폐기하지 않고 현재 id 를 돌려준다 -> {2, 현재 id}
+     * 키가 없으면 {0}, 허용 시간이 지난 이전 토큰을 재사용하면 family 폐기 -> {-1}
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if not current then return {0} end " +
+            "if current == ARGV[1] then " +
+            "  redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+            "  if tonumber(ARGV[4]) > 0 then redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[4]) end " +
+            "  return {1, ARGV[2]} " +
+            "end " +
+            "if redis.call('GET', KEYS[2]) == ARGV[1] then return {2, current} end " +
+            "redis.call('DEL', KEYS[1], KEYS[2]) return {-1}", List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${jwt.refresh.reuse-grace-millis:5000}")
+    private long reuseGraceMillis;
+
+    public enum RotationResult {
+        ROTATED, NOT_FOUND, REUSED
+    }
+
+    /**
+     * @param tokenId 새로 발급할 refresh token id, ROTATED 가 아니면 null
+     */
+    public record Rotation(RotationResult result, String tokenId) {
+    }
+
+    public static String uniqueIdOf(String socialId, String socialType) {
+        return socialId + "_" + socialType;
+    }
+
+    /**
+     * refresh token 재발급, 검사와 교체를 스크립트 한 번으로 원자적으로 처리
+     * 허용 시간 안에 직전 토큰으로 다시 요청하면 이미 교체된 현재 id 로 발급하므로 두 요청 모두 같은 family 로 이어진다.
+     */
+    public Rotation rotateRefreshToken(String familyId, String tokenId, String newTokenId, Duration refreshTtl) {
+        List<?> result = stringRedisTemplate.execute(ROTATE_SCRIPT, Arrays.asList(familyKey(familyId), previousKey(familyId))
+                , tokenId, newTokenId, String.valueOf(refreshTtl.toMillis()), String.valueOf(reuseGraceMillis));
+        long code = result == null || result.isEmpty() ? 0L : (Long) result.get(0);
+        if (code > 0) {
+            return new Rotation(RotationResult.ROTATED, (String) result.get(1));
+        }
+        return new Rotation(code == 0L ? RotationResult.NOT_FOUND : RotationResult.REUSED, null);
+    }
+
+    public boolean existsBlackAccessToken(String accessToken) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(tokenKey(BLACK_PREFIX, TokenHashUtil.hashOf(accessToken))));
+    }
+
+    /**
+     * 로그인 시 기존 refresh token family, 블랙 토큰을 지우고 새 family 저장
+     */
+    public void replaceOnLogin(String uniqueId, String familyId, String tokenId, Duration refreshTtl) {
+        List<String> previous = stringRedisTemplate.opsForValue()
+                .multiGet(Arrays.asList(userKey(REFRESH_PREFIX, uniqueId), userKey(BLACK_PREFIX, uniqueId)));
+        List<String> staleKeys = new ArrayList<>();
+        if (previous != null && previous.get(0) != null) {
+            staleKeys.add(familyKey(previous.get(0)));
+            staleKeys.add(previousKey(previous.get(0)));
+        }
+        if (previous != null && previous.get(1) != null) {
+            staleKeys.add(tokenKey(BLACK_PREFIX, previous.get(1)));
+            staleKeys.add(userKey(BLACK_PREFIX, uniqueId));
+        }
+
+        executePipelined(connection -> {
+            if (!staleKeys.isEmpty()) {
+                connection.del(staleKeys.toArray(new String[0]));
+            }
+            setEx(connection, familyKey(familyId), tokenId, refreshTtl);
+            setEx(connection, userKey(REFRESH_PREFIX, uniqueId), familyId, refreshTtl);
+        });
+    }
+
+    /**
+     * 로그아웃 시 refresh token family 삭제 + access token 블랙 처리
+     */
+    public void logout(String uniqueId, String familyId, String accessToken, Duration blackTtl) {
+        String accessHash = TokenHashUtil.hashOf(accessToken);
+        executePipelined(connection -> {
+            connection.del(userKey(REFRESH_PREFIX, uniqueId));
+            if (familyId != null) { // family 가 없는 이전 형식의 rft
+                connection.del(familyKey(familyId), previousKey(familyId));
+            }
+            setEx(connection, tokenKey(BLACK_PREFIX, accessHash), uniqueId, blackTtl);
+            setEx(connection, userKey(BLACK_PREFIX, uniqueId), accessHash, blackTtl);
+        });
+    }
+
+    /**
+     * 저장된 블랙 토큰 해시 전체 순회 (KEYS 대신 SCAN)
+     */
+    public void scanBlackAccessTokenHashes(Consumer<String> consumer) {
+        String keyPrefix = tokenKey(BLACK_PREFIX, "");
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> consumer.accept(key.substring(keyPrefix.length())));
+        }
+    }
+
+    private void executePipelined(Consumer<StringRedisConnection> commands) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            commands.accept((StringRedisConnection) connection); // StringRedisTemplate 은 StringRedisConnection 을 전달
+            return null;
+        });
+    }
+
+    private static void setEx(StringRedisConnection connection, String key, String value, Duration ttl) {
+        connection.set(key, value, Expiration.from(ttl), SetOption.upsert());
+    }
+
+    private static String familyKey(String familyId) {
+        return REFRESH_PREFIX + ":family:" + familyId;
+    }
+
+    private static String previousKey(String familyId) {
+        return familyKey(familyId) + ":prev";
+    }
+
+    private static String tokenKey(String prefix, String tokenHash) {
+        return prefix + ":token:" + tokenHash;
+    }
+
+    private static String userKey(String prefix, String uniqueId) {
+        return prefix + ":user:" + uniqueId;
+    }
+}
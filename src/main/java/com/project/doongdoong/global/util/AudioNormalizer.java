@@ -0,0 +1,186 @@
+package com.project.doongdoong.global.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 업로드 음성 파일을 저장 전에 16kHz mono 16bit PCM wav 로 변환
+ * 디코더가 JDK(javax.sound)에 있는 wav 만 변환하고, mp3/m4a 는 그대로 통과시킨다.
+ * 헤더의 프레임 수로 결과 크기를 미리 계산하므로 파일 전체를 메모리에 올리지 않고 스트림으로 변환한다.
+ */
+@Slf4j
+@Component
+public class AudioNormalizer {
+
+    public static final int TARGET_SAMPLE_RATE = 16000;
+    private static final int WAV_HEADER_SIZE = 44;
+    private static final int MARK_LIMIT = 64 * 1024; // 변환 불가 시 처음으로 되돌리기 위한 버퍼 크기
+
+    private final boolean enabled;
+
+    public AudioNormalizer(@Value("${voice.normalize.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public NormalizedAudio normalize(String extension, InputStream inputStream, long contentLength) throws IOException {
+        if (!enabled || !"wav".equalsIgnoreCase(extension)) {
+            return NormalizedAudio.passThrough(inputStream, contentLength);
+        }
+
+        BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream, MARK_LIMIT);
+        bufferedInputStream.mark(MARK_LIMIT);
+        try {
+            AudioInputStream source = AudioSystem.getAudioInputStream(bufferedInputStream);
+            AudioFormat sourceFormat = source.getFormat();
+            long sourceFrames = source.getFrameLength();
+            if (sourceFrames == AudioSystem.NOT_SPECIFIED || sourceFormat.getSampleRate() == AudioSystem.NOT_SPECIFIED) { // 결과 크기를 미리 알 수 없음
+                bufferedInputStream.reset();
+                return NormalizedAudio.passThrough(bufferedInputStream, contentLength);
+            }
+
+            int channels = sourceFormat.getChannels();
+            AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sourceFormat.getSampleRate(), 16
+                    , channels, channels * 2, sourceFormat.getSampleRate(), false);
+            AudioInputStream pcm = sourceFormat.matches(pcmFormat) ? source : AudioSystem.getAudioInputStream(pcmFormat, source); // 8bit, u-law 등은 16bit 로
+
+            long targetFrames = (long) Math.ceil(sourceFrames * (double) TARGET_SAMPLE_RATE / sourceFormat.getSampleRate());
+            long dataSize = targetFrames * 2;
+            InputStream body = new SequenceInputStream(new ByteArrayInputStream(wavHeader(dataSize))
+                    , new MonoResamplingInputStream(pcm, channels, sourceFormat.getSampleRate(), targetFrames));
+
+            return new NormalizedAudio(body, WAV_HEADER_SIZE + dataSize, targetFrames * 1000 / TARGET_SAMPLE_RATE);
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            log.warn("wav 변환 불가, 원본 그대로 저장 -> {}", e.getMessage());
+            bufferedInputStream.reset();
+            return NormalizedAudio.passThrough(bufferedInputStream, contentLength);
+        }
+    }
+
+    private static byte[] wavHeader(long dataSize) {
+        return ByteBuffer.allocate(WAV_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .put(new byte[]{'R', 'I', 'F', 'F'}).putInt((int) (36 + dataSize))
+                .put(new byte[]{'W', 'A', 'V', 'E'})
+                .put(new byte[]{'f', 'm', 't', ' '}).putInt(16)
+                .putShort((short) 1) // PCM
+                .putShort((short) 1) // mono
+                .putInt(TARGET_SAMPLE_RATE)
+                .putInt(TARGET_SAMPLE_RATE * 2) // byte rate
+                .putShort((short) 2) // block align
+                .putShort((short) 16) // bits per sample
+                .put(new byte[]{'d', 'a', 't', 'a'}).putInt((int) dataSize)
+                .array();
+    }
+
+    /**
+     * @param durationMillis 변환하지 않은 경우 null
+     */
+    public record NormalizedAudio(InputStream inputStream, long contentLength, Long durationMillis) {
+
+        static NormalizedAudio passThrough(InputStream inputStream, long contentLength) {
+            return new NormalizedAudio(inputStream, contentLength, null);
+        }
+    }
+
+    /**
+     * 16bit little endian PCM 을 채널 평균으로 mono 로 합치고 선형 보간으로 16kHz 로 변환
+     * 정확히 targetFrames 개의 샘플을 만들고, 원본이 먼저 끝나면 마지막 샘플로 채운다.
+     */
+    static final class MonoResamplingInputStream extends InputStream {
+
+        private final InputStream source;
+        private final int channels;
+        private final double step; // 출력 샘플 1개당 원본 프레임 이동량
+        private final byte[] frame;
+        private long remainingFrames;
+
+        private double position; // 원본 기준 현재 위치
+        private long baseIndex; // sample0 의 원본 프레임 번호
+        private int sample0;
+        private int sample1;
+        private int pendingHighByte = -1;
+
+        MonoResamplingInputStream(InputStream source, int channels, float sourceSampleRate, long targetFrames) throws IOException {
+            this.source = new BufferedInputStream(source, MARK_LIMIT);
+            this.channels = channels;
+            this.step = sourceSampleRate / TARGET_SAMPLE_RATE;
+            this.frame = new byte[channels * 2];
+            this.remainingFrames = targetFrames;
+            this.sample0 = readMonoFrame(0);
+            this.sample1 = readMonoFrame(sample0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (pendingHighByte >= 0) {
+                int value = pendingHighByte;
+                pendingHighByte = -1;
+                return value;
+            }
+            if (remainingFrames == 0) {
+                return -1;
+            }
+            int sample = nextSample();
+            remainingFrames--;
+            pendingHighByte = (sample >> 8) & 0xff;
+            return sample & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < len) {
+                int value = read();
+                if (value < 0) {
+                    break;
+                }
+                b[off + count++] = (byte) value;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+
+        private int nextSample() throws IOException {
+            long index = (long) position;
+            while (baseIndex < index) {
+                sample0 = sample1;
+                sample1 = readMonoFrame(sample1);
+                baseIndex++;
+            }
+            double fraction = position - index;
+            position += step;
+            return (int) Math.round(sample0 + (sample1 - sample0) * fraction);
+        }
+
+        private int readMonoFrame(int fallback) throws IOException {
+            int read = 0;
+            while (read < frame.length) {
+                int count = source.read(frame, read, frame.length - read);
+                if (count < 0) {
+                    return fallback; // 원본 끝
+                }
+                read += count;
+            }
+            int sum = 0;
+            for (int channel = 0; channel < channels; channel++) {
+                sum += (short) ((frame[channel * 2] & 0xff) | (frame[channel * 2 + 1] << 8));
+            }
+            return sum / channels;
+        }
+    }
+}
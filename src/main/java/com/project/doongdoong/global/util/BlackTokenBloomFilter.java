@@ -0,0 +1,185 @@
+package com.project.doongdoong.global.util;
+
+import com.project.doongdoong.global.repositoty.TokenRedisRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 로그아웃(블랙) access token 블룸 필터
+ * 필터에 없으면 블랙 토큰이 아니므로 redis 조회를 생략하고, 필터에 있을 때만 redis 로 확인한다.
+ * 블랙 토큰은 access token 유효 시간 동안만 의미가 있으므로, 두 세대(현재/이전)를 유효 시간마다 교체해서 삭제 없이 정리한다.
+ * 로그아웃한 서버는 BLACK_TOKEN_CHANNEL 로 토큰 해시를 발행하고, 모든 서버가 받아서 필터에 추가한다.
+ * pub/sub 메시지는 유실될 수 있으므로(발행 실패, 구독 재연결 중) 주기적으로 redis 의 블랙 토큰을 다시 SCAN 해서 채운다.
+ * -> 메시지를 놓쳐도 로그아웃한 토큰이 통과할 수 있는 시간은 resync 주기 이내
+ */
+@Slf4j
+@Component
+public class BlackTokenBloomFilter implements MessageListener {
+
+    public static final String BLACK_TOKEN_CHANNEL = "token:black";
+
+    private final TokenRedisRepository tokenRedisRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int bitSize;
+    private final int hashCount;
+    private final long rotationMillis;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+    private volatile long rotatedAtMillis;
+
+    public BlackTokenBloomFilter(TokenRedisRepository tokenRedisRepository, StringRedisTemplate stringRedisTemplate
+            , RedisMessageListenerContainer redisMessageListenerContainer
+            , @Value("${jwt.blacklist.bloom.expected-insertions:100000}") long expectedInsertions
+            , @Value("${jwt.blacklist.bloom.false-positive-rate:0.01}") double falsePositiveRate
+            , @Value("${jwt.blacklist.bloom.rotation-seconds:1800}") long rotationSeconds) { // access token 유효 시간(30분)
+        this.tokenRedisRepository = tokenRedisRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.bitSize = (int) Math.max(64, Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.hashCount = (int) Math.max(1, Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.rotationMillis = rotationSeconds * 1000L;
+        this.current = new Generation(bitSize);
+        this.previous = new Generation(bitSize);
+        this.rotatedAtMillis = System.currentTimeMillis();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(BLACK_TOKEN_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() { // 재시작 전 저장된 블랙 토큰 반영
+        log.info("블랙 토큰 블룸 필터 적재 size = {}", addAllFromRedis());
+    }
+
+    /**
+     * 놓친 블랙 토큰 메시지 복구, 교체된 세대에도 아직 유효한 블랙 토큰이 다시 채워진다.
+     */
+    @Scheduled(initialDelayString = "${jwt.blacklist.bloom.resync-millis:60000}", fixedDelayString = "${jwt.blacklist.bloom.resync-millis:60000}")
+    public void resync() {
+        try {
+            log.debug("블랙 토큰 블룸 필터 재동기화 size = {}", addAllFromRedis());
+        } catch (RuntimeException e) { // 다음 주기에 다시 시도
+            log.warn("블랙 토큰 블룸 필터 재동기화 실패 error = {}", e.getMessage());
+        }
+    }
+
+    private int addAllFromRedis() {
+        AtomicInteger count = new AtomicInteger();
+        tokenRedisRepository.scanBlackAccessTokenHashes(tokenHash -> {
+            add(tokenHash);
+            count.incrementAndGet();
+        });
+        return count.get();
+    }
+
+    /**
+     * @param token Bearer 접두사를 제외한 access token
+     * @return false 이면 블랙 토큰이 아님, true 이면 redis 확인 필요
+     */
+    public boolean mightContain(String token) {
+        rotateIfExpired();
+        long[] hashes = hashesOf(TokenHashUtil.sha256(token));
+        return current.mightContain(hashes) || previous.mightContain(hashes);
+    }
+
+    /**
+     * 로그아웃 시 호출, 자신의 필터에 바로 추가하고 다른 서버에 전파
+     */
+    public void publish(String token) {
+        String tokenHash = TokenHashUtil.hashOf(token);
+        add(tokenHash);
+        try {
+            stringRedisTemplate.convertAndSend(BLACK_TOKEN_CHANNEL, tokenHash);
+        } catch (RuntimeException e) { // 전파 실패 시 다른 서버는 resync 전까지 redis 조회 없이 통과
+            log.warn("블랙 토큰 전파 실패, 다른 서버는 다음 재동기화 때 반영 error = {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String tokenHash = new String(message.getBody(), StandardCharsets.UTF_8);
+        add(tokenHash);
+    }
+
+    private void add(String tokenHash) {
+        rotateIfExpired();
+        current.put(hashesOf(Base64.getDecoder().decode(tokenHash)));
+    }
+
+    private void rotateIfExpired() {
+        if (System.currentTimeMillis() - rotatedAtMillis < rotationMillis) {
+            return;
+        }
+        synchronized (this) {
+            if (System.currentTimeMillis() - rotatedAtMillis < rotationMillis) {
+                return;
+            }
+            previous = current; // 이전 세대는 한 주기 동안 더 확인
+            current = new Generation(bitSize);
+            rotatedAtMillis = System.currentTimeMillis();
+        }
+    }
+
+    int getBitSize() {
+        return bitSize;
+    }
+
+    int getHashCount() {
+        return hashCount;
+    }
+
+    private long[] hashesOf(byte[] digest) { // SHA-256 앞 16바이트로 이중 해싱
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        long h1 = buffer.getLong();
+        long h2 = buffer.getLong();
+        long[] hashes = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            hashes[i] = Math.floorMod(h1 + i * h2, (long) bitSize);
+        }
+        return hashes;
+    }
+
+    private static final class Generation {
+        private final AtomicLongArray bits;
+
+        private Generation(int bitSize) {
+            this.bits = new AtomicLongArray((bitSize + 63) / 64);
+        }
+
+        private void put(long[] hashes) {
+            for (long hash : hashes) {
+                int index = (int) (hash >>> 6);
+                long mask = 1L << (hash & 63);
+                long word;
+                do {
+                    word = bits.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(index, word, word | mask));
+            }
+        }
+
+        private boolean mightContain(long[] hashes) {
+            for (long hash : hashes) {
+                if ((bits.get((int) (hash >>> 6)) & (1L << (hash & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
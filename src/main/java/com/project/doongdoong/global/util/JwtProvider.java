@@ -1,12 +1,15 @@
 package com.project.doongdoong.global.util;
 
-import com.project.doongdoong.global.common.BlackAccessToken;
 import com.project.doongdoong.global.dto.response.TokenDto;
-import com.project.doongdoong.global.repositoty.BlackAccessTokenRepository;
+import com.project.doongdoong.global.repositoty.TokenRedisRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +23,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,12 +36,21 @@ public class JwtProvider {
     @Value("${jwt.secret}")
     private String secretKey;
     private Key key;
+    @Getter(AccessLevel.NONE)
+    private JwtParser jwtParser; // 불변, 스레드 안전 -> 요청마다 새로 만들지 않고 공유
+
+    @Value("${jwt.authentication-cache.max-size:10000}")
+    private long authenticationCacheMaxSize;
+    @Getter(AccessLevel.NONE)
+    private Cache<String, CachedAuthentication> authenticationCache; // 토큰 해시 -> 인증 객체, 토큰 만료 시각에 제거
 
     private final long ACCESS_TOKEN_VALIDATION_TIME = 30 * 60 * 1000L; // 30분
     private final long REFRESH_TOKEN_VALIDATION_TIME = 1000L * 60L * 60L * 24L * 14; // 2주
     public final static String BEARER_PREFIX = "Bearer ";
+    public final static String FAMILY_ID_CLAIM = "fid"; // refresh token 회전 family, 토큰 id 는 jti 사용
 
-    private final BlackAccessTokenRepository blackAccessTokenRepository;
+    private final TokenRedisRepository tokenRedisRepository;
+    private final BlackTokenBloomFilter blackTokenBloomFilter;
 
 
 
@@ -45,29 +59,71 @@ public class JwtProvider {
     protected void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.authenticationCache = Caffeine.newBuilder()
+                .maximumSize(authenticationCacheMaxSize)
+                .expireAfter(new Expiry<String, CachedAuthentication>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(value.expiresAtMillis() - System.currentTimeMillis(), 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-
-    public boolean validateToken(String token) {  // 토큰의 유효성 검증을 수행
+    /**
+     * 토큰 검증과 Authentication 생성을 한 번의 파싱으로 처리
+     * 이미 검증한 토큰은 만료 전까지 캐시된 Authentication 을 반환한다.
+     * @return 토큰이 null 이면 null
+     * @throws JwtException 서명 오류, 만료 등 유효하지 않은 토큰
+     */
+    public Authentication authenticate(String token) {
         if (token == null) {
-            log.info("인가가 필요없는 API 호출에서는 토큰 필요 X, 따라서 토큰이 null인 경우는 그렇게 판단하고 제외");
-            return false;
+            return null;
         }
-        Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-        return true;
+        String tokenHash = TokenHashUtil.hashOf(token); // 원본 토큰 대신 해시를 키로 보관
+        CachedAuthentication cached = authenticationCache.getIfPresent(tokenHash);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.authentication();
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Authentication authentication = toAuthentication(claims);
+        if (claims.getExpiration() != null) {
+            authenticationCache.put(tokenHash, new CachedAuthentication(authentication, claims.getExpiration().getTime()));
+        }
+        return authentication;
+    }
+
+
+    public Duration accessTokenTtl() {
+        return Duration.ofMillis(ACCESS_TOKEN_VALIDATION_TIME);
     }
 
-    public TokenDto generateToken(String socialId, String socialType, List<String> roles) {
+    public Duration refreshTokenTtl() {
+        return Duration.ofMillis(REFRESH_TOKEN_VALIDATION_TIME);
+    }
+
+    public TokenDto generateToken(String socialId, String socialType, List<String> roles, String familyId, String tokenId) {
         List<SimpleGrantedAuthority> authorities = roles.stream()
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
         String role = authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
 
         // refreshToken과 accessToken을 생성한다.
-        String refreshToken = createRefreshToken(socialId, socialType, role);
+        String refreshToken = createRefreshToken(socialId, socialType, role, familyId, tokenId);
         String accessToken = createAccessToken(socialId, socialType, role);
 
         /*// 토큰을 Redis에 저장한다.
@@ -75,11 +131,13 @@ public class JwtProvider {
         return new TokenDto(accessToken, refreshToken);
     }
 
-    public String createRefreshToken(String socialId, String socialType, String role) {
+    public String createRefreshToken(String socialId, String socialType, String role, String familyId, String tokenId) {
 
         Claims claims = Jwts.claims().setSubject(socialId);
         claims.put("socialType",socialType); // 새로운 클레임 객체를 생성하고, 이메일과 역할(권한)을 셋팅
         claims.put("role",role);
+        claims.put(FAMILY_ID_CLAIM, familyId);
+        claims.setId(tokenId);
 
         return BEARER_PREFIX + Jwts.builder() // Payload를 구성하는 속성들을 정의한다.
                 .setClaims(claims)
@@ -101,10 +159,7 @@ public class JwtProvider {
                         .compact();
     }
 
-    // JWT 토큰을 복호화하여 토큰에 들어있는 정보를 꺼내는 메서드
-    public Authentication getAuthentication(String accessToken) {
-        // 토큰 복호화
-        Claims claims = parseClaims(accessToken);
+    private Authentication toAuthentication(Claims claims) {
         if (claims.get("role") == null) {
             throw new RuntimeException("권한 정보가 없는 토큰입니다.");
         }
@@ -117,34 +172,38 @@ public class JwtProvider {
 
         // UserDetails 객체를 만들어서 Authentication 리턴
         // password가 없는데 이렇게 작성하면 보안 문제가 발생할 거 같음. 나중에 확인해 보자.
-        log.info("claims.getSubject() = {}",claims.getSubject());
+        log.debug("claims.getSubject() = {}",claims.getSubject());
         UserDetails principal = new User(claims.getSubject() + "_" +claims.get("socialType", String.class), "", authorities);
         return new UsernamePasswordAuthenticationToken(principal, "", authorities);
     }
+    /**
+     * refresh token 서명, 만료 검증 후 클레임 반환 (재발급 시 한 번만 파싱)
+     * @throws JwtException 유효하지 않은 토큰
+     */
+    public Claims parseRefreshToken(String refreshToken) {
+        return jwtParser.parseClaimsJws(stripBearer(refreshToken)).getBody();
+    }
+
+    public static String stripBearer(String token) {
+        return token.startsWith(BEARER_PREFIX) ? token.substring(BEARER_PREFIX.length()) : token;
+    }
+
     public Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            return jwtParser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
     }
 
-    // 토큰에서 Email을 추출한다.
-    public String extractSocialId(String token) {
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody().getSubject();
+    private record CachedAuthentication(Authentication authentication, long expiresAtMillis) {
     }
 
-    // 토큰에서 ROLE(권한)만 추출한다.
-    public String extractRole(String token) {
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody().get("role", String.class);
-    }
-
-    public String extractSocialType(String token) {
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody().get("socialType", String.class);
-    }
     public boolean checkLogoutToken(String token) { // blackAccessToken의 존재 유무 반환 메소드 -> 존재한다면 해당 토큰은 인가 권한 X
-        Optional<BlackAccessToken> findBlackToken = blackAccessTokenRepository.findByAccessToken(BEARER_PREFIX + token);
-        if (findBlackToken.isPresent()){ // 로그아웃을 이미 했고 소셜타입까지 일치하면 정확한 사용자가 맞고 로그아웃한 토큰이다.
+        if (!blackTokenBloomFilter.mightContain(token)) { // 대부분의 요청은 redis 조회 없이 통과
+            return false;
+        }
+        if (tokenRedisRepository.existsBlackAccessToken(token)){ // 로그아웃을 이미 했고 소셜타입까지 일치하면 정확한 사용자가 맞고 로그아웃한 토큰이다.
             log.info("블랙 토큰 존재 ->  현재 act은 접근 권한이 없음");
             return true;
         }
@@ -0,0 +1,88 @@
+package com.project.doongdoong.global.util;
+
+import com.project.doongdoong.domain.image.exception.FileUploadException;
+import com.project.doongdoong.global.exception.CustomException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 여러 파일을 전용 스레드 풀에서 동시에 업로드
+ * 요청 시간은 파일 수의 합이 아니라 가장 느린 파일 기준이 되고, 동시 업로드 수는 풀 크기로 제한한다.
+ * 하나라도 실패하면 나머지 업로드가 끝난 뒤 성공한 파일을 compensator 로 삭제하고 예외를 던진다.
+ */
+@Slf4j
+@Component
+public class ParallelS3Uploader {
+
+    private final ExecutorService uploadExecutor;
+
+    public ParallelS3Uploader(@Value("${s3.upload.concurrency:8}") int concurrency
+            , @Value("${s3.upload.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.uploadExecutor = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS
+                , new ArrayBlockingQueue<>(queueCapacity)
+                , runnable -> {
+                    Thread thread = new Thread(runnable, "s3-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+                , new ThreadPoolExecutor.CallerRunsPolicy()); // 대기열이 가득 차면 요청 스레드에서 업로드 -> 자연스러운 배압
+    }
+
+    /**
+     * @return 입력 순서와 같은 순서의 업로드 결과
+     */
+    public <S, T> List<T> uploadAll(List<S> sources, Function<S, T> uploader, Consumer<T> compensator) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            futures.add(CompletableFuture.supplyAsync(() -> uploader.apply(source), uploadExecutor));
+        }
+
+        List<T> uploaded = new ArrayList<>(sources.size());
+        Throwable failure = null;
+        for (CompletableFuture<T> future : futures) { // 실패하더라도 모든 업로드가 끝날 때까지 대기해야 정리 가능
+            try {
+                uploaded.add(future.join());
+            } catch (CompletionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+
+        if (failure != null) {
+            compensate(uploaded, compensator);
+            if (failure instanceof CustomException customException) {
+                throw customException;
+            }
+            log.error("파일 병렬 업로드 실패 -> {}", failure.getMessage());
+            throw new FileUploadException();
+        }
+        return uploaded;
+    }
+
+    /**
+     * 업로드 이후 단계(DB 저장 등)가 실패했을 때 업로드한 파일 삭제
+     */
+    public <T> void compensate(List<T> uploaded, Consumer<T> compensator) {
+        for (T result : uploaded) {
+            try {
+                compensator.accept(result);
+            } catch (RuntimeException e) { // 삭제 실패는 로그만 남기고 나머지 계속 정리
+                log.warn("업로드 파일 정리 실패 -> {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+}
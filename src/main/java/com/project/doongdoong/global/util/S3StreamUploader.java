@@ -0,0 +1,143 @@
+package com.project.doongdoong.global.util;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 입력 스트림을 메모리에 전부 올리지 않고 S3 로 업로드
+ * 길이를 알고 한 파트 이하이면 putObject 로 바로 전달하고,
+ * 그 외에는 고정 크기 버퍼 하나로 multipart upload -> 업로드 1건당 최대 partSize 만큼만 메모리 사용
+ * 업로드 바이트, 소요 시간, 처리량(bytes/sec)을 메트릭으로 기록한다.
+ */
+@Slf4j
+@Component
+public class S3StreamUploader {
+
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024; // S3 multipart 최소 파트 크기(마지막 파트 제외)
+    private static final String METRIC_PREFIX = "s3.upload";
+
+    private final AmazonS3Client amazonS3Client;
+    private final int partSize;
+    private final Counter uploadedBytes;
+    private final DistributionSummary throughput;
+    private final Timer singleTimer;
+    private final Timer multipartTimer;
+
+    public S3StreamUploader(AmazonS3Client amazonS3Client, MeterRegistry meterRegistry
+            , @Value("${s3.upload.part-size-bytes:8388608}") int partSize) {
+        this.amazonS3Client = amazonS3Client;
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+        this.uploadedBytes = Counter.builder(METRIC_PREFIX + ".bytes").baseUnit("bytes").register(meterRegistry);
+        this.throughput = DistributionSummary.builder(METRIC_PREFIX + ".throughput").baseUnit("bytes/s").register(meterRegistry);
+        this.singleTimer = Timer.builder(METRIC_PREFIX + ".duration").tag("type", "single").register(meterRegistry);
+        this.multipartTimer = Timer.builder(METRIC_PREFIX + ".duration").tag("type", "multipart").register(meterRegistry);
+    }
+
+    /**
+     * @param contentLength 모르면 -1
+     * @return 업로드한 바이트 수
+     */
+    public long upload(String bucketName, String key, String contentType, InputStream inputStream, long contentLength) throws IOException {
+        long start = System.nanoTime();
+        long size;
+        Timer timer;
+        if (contentLength >= 0 && contentLength <= partSize) {
+            putObject(bucketName, key, contentType, inputStream, contentLength);
+            size = contentLength;
+            timer = singleTimer;
+        } else {
+            byte[] buffer = new byte[partSize];
+            int firstRead = readFully(inputStream, buffer);
+            if (firstRead < partSize) { // 길이를 몰랐지만 한 파트 이하
+                putObject(bucketName, key, contentType, new ByteArrayInputStream(buffer, 0, firstRead), firstRead);
+                size = firstRead;
+                timer = singleTimer;
+            } else {
+                size = multipartUpload(bucketName, key, contentType, inputStream, buffer);
+                timer = multipartTimer;
+            }
+        }
+        record(size, System.nanoTime() - start, timer);
+        return size;
+    }
+
+    private void putObject(String bucketName, String key, String contentType, InputStream inputStream, long contentLength) {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType(contentType);
+        objectMetadata.setContentLength(contentLength); // 길이를 지정해야 SDK 가 스트림 전체를 버퍼링하지 않음
+        amazonS3Client.putObject(bucketName, key, inputStream, objectMetadata);
+    }
+
+    private long multipartUpload(String bucketName, String key, String contentType, InputStream inputStream, byte[] buffer) throws IOException {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType(contentType);
+        String uploadId = amazonS3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, objectMetadata))
+                .getUploadId();
+
+        List<PartETag> partETags = new ArrayList<>();
+        long total = 0;
+        try {
+            int length = buffer.length; // 첫 파트는 호출 전에 이미 채워짐
+            while (length > 0) {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partETags.size() + 1)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                        .withPartSize(length);
+                partETags.add(amazonS3Client.uploadPart(uploadPartRequest).getPartETag());
+                total += length;
+                length = readFully(inputStream, buffer); // 같은 버퍼 재사용
+            }
+            amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            return total;
+        } catch (IOException | RuntimeException e) {
+            log.warn("multipart 업로드 중단 key = {}, part = {}, error = {}", key, partETags.size() + 1, e.getMessage());
+            abortQuietly(bucketName, key, uploadId);
+            throw e;
+        }
+    }
+
+    private void abortQuietly(String bucketName, String key, String uploadId) { // 업로드된 파트 정리
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (RuntimeException e) {
+            log.warn("multipart 업로드 취소 실패 key = {}, error = {}", key, e.getMessage());
+        }
+    }
+
+    private void record(long size, long elapsedNanos, Timer timer) {
+        uploadedBytes.increment(size);
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            throughput.record(size * 1_000_000_000d / elapsedNanos);
+        }
+    }
+
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException { // 버퍼가 가득 차거나 스트림이 끝날 때까지 읽기
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = inputStream.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+}
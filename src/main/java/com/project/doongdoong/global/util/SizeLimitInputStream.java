@@ -0,0 +1,64 @@
+package com.project.doongdoong.global.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 읽은 바이트 수를 세다가 maxBytes 를 넘으면 IOException 으로 중단
+ * Content-Length 가 없는(chunked) 요청 본문도 크기 제한 없이 끝까지 읽지 않도록 감싼다.
+ * S3 SDK 가 읽기 예외를 감싸서 던질 수 있으므로 호출 측은 isExceeded() 로 원인을 구분한다.
+ */
+public class SizeLimitInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long count;
+    private boolean exceeded;
+
+    public SizeLimitInputStream(InputStream inputStream, long maxBytes) {
+        super(inputStream);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() { // reset 으로 센 바이트가 어긋나지 않도록
+        return false;
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    private void count(long read) throws IOException {
+        count += read;
+        if (count > maxBytes) {
+            exceeded = true;
+            throw new IOException("입력 크기 제한 초과 max = " + maxBytes);
+        }
+    }
+}
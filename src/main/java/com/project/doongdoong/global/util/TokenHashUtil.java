@@ -0,0 +1,27 @@
+package com.project.doongdoong.global.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 원문 대신 캐시 키, 필터, 메시지로 사용하는 SHA-256 해시
+ */
+public final class TokenHashUtil {
+
+    private TokenHashUtil() {
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hashOf(String token) {
+        return Base64.getEncoder().encodeToString(sha256(token));
+    }
+}
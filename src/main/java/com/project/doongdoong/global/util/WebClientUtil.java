@@ -4,29 +4,46 @@ package com.project.doongdoong.global.util;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.project.doongdoong.domain.analysis.dto.response.FellingStateCreateResponse;
 import com.project.doongdoong.domain.voice.model.Voice;
+import com.project.doongdoong.global.config.LambdaResilienceConfig;
+import com.project.doongdoong.global.dto.request.VoicesToS3Request;
 import com.project.doongdoong.global.dto.response.CounselAiResponse;
+import com.project.doongdoong.global.dto.response.FellingStateBatchResponse;
+import com.project.doongdoong.global.dto.response.FellingStateBatchResult;
+import com.project.doongdoong.global.exception.CustomException;
 import com.project.doongdoong.global.exception.servererror.ExternalApiCallException;
+import com.project.doongdoong.global.exception.servererror.ExternalApiUnavailableException;
 import com.project.doongdoong.global.dto.request.ConsultRequest;
 import com.project.doongdoong.global.dto.request.VoiceToS3Request;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
-import java.util.HashMap;
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.project.doongdoong.global.config.LambdaResilienceConfig.*;
 
 @Component @Slf4j
 @RequiredArgsConstructor
 public class WebClientUtil
 {
-    private final WebClient webClient;
+    private final WebClient lambdaWebClient; // 커넥션 풀을 공유하는 lambda 전용 클라이언트
     private final AmazonS3Client amazonS3Client;
+    private final CircuitBreakerRegistry lambdaCircuitBreakerRegistry;
 
     @Value("${spring.lambda.text.url}")
     private String lambdaTextApiUrl;
@@ -36,29 +53,115 @@ public class WebClientUtil
     @Value("${spring.lambda.emotion_voice}")
     private String lambdaVoiceApiUrl;
 
+    @Value("${lambda.batch.text-url:}")
+    private String lambdaTextBatchApiUrl; // 비어 있으면 배치 호출 사용 X
+    @Value("${lambda.batch.voice-url:}")
+    private String lambdaVoiceBatchApiUrl;
+
+    @Value("${lambda.text.timeout-millis:60000}")
+    private long textTimeoutMillis;
+    @Value("${lambda.voice.timeout-millis:60000}")
+    private long voiceTimeoutMillis;
+    @Value("${lambda.batch.timeout-millis:90000}")
+    private long batchTimeoutMillis; // 한 요청에 모든 파일을 분석하므로 파일 단위 호출보다 길게 설정
+
+    @Value("${lambda.fan-out.concurrency:4}")
+    private int fanOutConcurrency; // 분석 1건당 파일 단위 동시 호출 수
+
+    @Value("${lambda.retry.max-attempts:2}")
+    private int maxRetryAttempts; // 첫 호출 제외 재시도 횟수
+    @Value("${lambda.retry.min-backoff-millis:200}")
+    private long minBackoffMillis;
+    @Value("${lambda.retry.max-backoff-millis:2000}")
+    private long maxBackoffMillis;
+
     @Value("${cloud.aws.bucket}")
     private String bucketName;
     private static final String VOICE_KEY = "voice/";
 
 
 
-    public List<FellingStateCreateResponse> callAnalyzeEmotion(List<Voice> voices) {
+    public Mono<List<FellingStateCreateResponse>> callAnalyzeEmotion(List<Voice> voices) { // block() 없이 Mono로 반환 -> 호출 측에서 조합
+
+        return callAnalyzeEmotionBy(voices, lambdaTextBatchApiUrl, LAMBDA_TEXT_BATCH, this::callLambdaApi);
+    }
+
+    private Mono<List<FellingStateCreateResponse>> callAnalyzeEmotionBy(List<Voice> voices, String batchApiUrl, String batchCircuitBreakerName
+            , Function<Voice, Mono<FellingStateCreateResponse>> perFileCall) {
 
-        Flux<FellingStateCreateResponse> responseFlux = Flux
+        // 파일마다 1번씩 동시 호출, 응답은 완료 순서와 상관없이 요청(답변) 순서대로 반환
+        // 네트워크 I/O 는 netty 이벤트 루프에서 처리되므로 CPU 전용 parallel 스케줄러를 사용하지 않음
+        Mono<List<FellingStateCreateResponse>> perFileResponses = Flux
                 .fromIterable(voices)
-                .parallel()
-                .runOn(Schedulers.parallel())
-                .flatMap(this::callLambdaApi)
-                .sequential();
-
-        List<FellingStateCreateResponse> response = responseFlux.collectList().block();
-        for(FellingStateCreateResponse dto : response){
-            log.info("dto.getFeelingState() = {}", dto.getFeelingState());
-            log.info("dto.getTranscribedText() = {}", dto.getTranscribedText());
+                .flatMapSequential(perFileCall, fanOutConcurrency)
+                .doOnNext(dto -> {
+                    log.info("dto.getFeelingState() = {}", dto.getFeelingState());
+                    log.info("dto.getTranscribedText() = {}", dto.getTranscribedText());
+                })
+                .collectList();
+
+        if (!StringUtils.hasText(batchApiUrl)) { // 배치 API 미설정 시 파일 단위 호출
+            return perFileResponses;
         }
 
+        return callLambdaBatchApi(voices, batchApiUrl, batchCircuitBreakerName)
+                .onErrorResume(e -> { // 배치 호출 실패 시 기존 파일 단위 호출로 대체
+                    log.warn("배치 분석 실패로 파일 단위 분석으로 대체 name = {}, error = {}", batchCircuitBreakerName, e.getMessage());
+                    return perFileResponses;
+                });
+    }
 
-        return response;
+    private Mono<List<FellingStateCreateResponse>> callLambdaBatchApi(List<Voice> voices, String batchApiUrl, String circuitBreakerName) {
+
+        List<String> fileKeys = voices.stream()
+                .map(voice -> VOICE_KEY + voice.getStoredName())
+                .collect(Collectors.toList());
+        VoicesToS3Request body = VoicesToS3Request.builder()
+                .fileKeys(fileKeys)
+                .build();
+
+        Mono<FellingStateBatchResponse> call = lambdaWebClient
+                .post()
+                .uri(batchApiUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(FellingStateBatchResponse.class);
+
+        // 실패 시 파일 단위 호출로 대체하므로 배치는 재시도하지 않음 -> 최악의 경우 대기 시간이 (재시도 횟수 + 1)배로 늘어나지 않도록
+        return withResilience(call, circuitBreakerName, batchTimeoutMillis, throwable -> false)
+                .map(response -> mapBatchResultsToVoices(fileKeys, response.getResults()));
+    }
+
+    /**
+     * 배치 응답을 요청한 음성 파일 순서대로 정렬
+     * fileKey 기준으로 매칭하고, fileKey가 없는 응답은 요청과 같은 개수일 때만 순서(index)로 매칭
+     */
+    private static List<FellingStateCreateResponse> mapBatchResultsToVoices(List<String> fileKeys, List<FellingStateBatchResult> results) {
+        List<FellingStateBatchResult> batchResults = Optional.ofNullable(results).orElse(List.of());
+        Map<String, FellingStateBatchResult> resultByFileKey = batchResults.stream()
+                .filter(result -> result.getFileKey() != null)
+                .collect(Collectors.toMap(
+                        FellingStateBatchResult::getFileKey,
+                        result -> result,
+                        (existing, replacement) -> existing
+                ));
+
+        List<FellingStateCreateResponse> responses = new ArrayList<>();
+        for(int i=0; i<fileKeys.size(); i++){
+            FellingStateBatchResult result = resultByFileKey.get(fileKeys.get(i));
+            if(result == null && batchResults.size() == fileKeys.size()){
+                result = batchResults.get(i);
+            }
+            if(result == null){ // 매칭되지 않는 파일이 있다면 배치 결과를 사용하지 않음
+                throw new ExternalApiCallException();
+            }
+            responses.add(FellingStateCreateResponse.builder()
+                    .transcribedText(result.getTranscribedText())
+                    .feelingState(result.getFeelingState())
+                    .build());
+        }
+        return responses;
     }
 
     private Mono<FellingStateCreateResponse> callLambdaApi(Voice voice) {
@@ -67,37 +170,22 @@ public class WebClientUtil
                 .fileKey(VOICE_KEY + voice.getStoredName())
                 .build();
 
-        return webClient.mutate().build()
+        Mono<FellingStateCreateResponse> call = lambdaWebClient
                 .post()
                 .uri(lambdaTextApiUrl)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(body)
                 .retrieve()
-                .bodyToMono(FellingStateCreateResponse.class)
-                .doOnError(e -> {
-                    log.info("error 발생 = {}", e.getMessage());
-                    throw new ExternalApiCallException();
-                });
+                .bodyToMono(FellingStateCreateResponse.class);
 
-    }
-
-    public List<FellingStateCreateResponse> callAnalyzeEmotionVoice(List<Voice> voices) {
+        // 같은 파일에 대한 분석 요청은 멱등 -> lambda 측 장애(연결 실패, 타임아웃, 5xx, 429)는 재시도
+        return withResilience(call, LAMBDA_TEXT, textTimeoutMillis, LambdaResilienceConfig::isServerSideFailure);
 
-        Flux<FellingStateCreateResponse> responseFlux = Flux
-                .fromIterable(voices)
-                .parallel()
-                .runOn(Schedulers.parallel())
-                .flatMap(this::callLambdaApiVoice)
-                .sequential();
-
-        List<FellingStateCreateResponse> response = responseFlux.collectList().block();
-        for(FellingStateCreateResponse dto : response){
-            log.info("dto.getFeelingState() = {}", dto.getFeelingState());
-            log.info("dto.getTranscribedText() = {}", dto.getTranscribedText());
-        }
+    }
 
+    public Mono<List<FellingStateCreateResponse>> callAnalyzeEmotionVoice(List<Voice> voices) {
 
-        return response;
+        return callAnalyzeEmotionBy(voices, lambdaVoiceBatchApiUrl, LAMBDA_VOICE_BATCH, this::callLambdaApiVoice);
     }
 
     private Mono<FellingStateCreateResponse> callLambdaApiVoice(Voice voice) {
@@ -106,17 +194,16 @@ public class WebClientUtil
                 .fileKey(VOICE_KEY + voice.getStoredName())
                 .build();
 
-        return webClient.mutate().build()
+        Mono<FellingStateCreateResponse> call = lambdaWebClient
                 .post()
                 .uri(lambdaVoiceApiUrl)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(body)
                 .retrieve()
-                .bodyToMono(FellingStateCreateResponse.class)
-                .doOnError(e -> {
-                    log.info("error 발생 = {}", e.getMessage());
-                    throw new ExternalApiCallException();
-                });
+                .bodyToMono(FellingStateCreateResponse.class);
+
+        // 같은 파일에 대한 분석 요청은 멱등 -> lambda 측 장애(연결 실패, 타임아웃, 5xx, 429)는 재시도
+        return withResilience(call, LAMBDA_VOICE, voiceTimeoutMillis, LambdaResilienceConfig::isServerSideFailure);
 
     }
 
@@ -147,4 +234,26 @@ public class WebClientUtil
                 })
                 .block();*/
     }
+
+    private <T> Mono<T> withResilience(Mono<T> call, String circuitBreakerName, long timeoutMillis, Predicate<Throwable> retryable) {
+        CircuitBreaker circuitBreaker = lambdaCircuitBreakerRegistry.circuitBreaker(circuitBreakerName);
+
+        return call
+                .timeout(Duration.ofMillis(timeoutMillis)) // 엔드포인트 별 1회 호출 제한 시간
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker)) // OPEN 상태라면 호출하지 않고 즉시 실패
+                .retryWhen(Retry.backoff(maxRetryAttempts, Duration.ofMillis(minBackoffMillis))
+                        .maxBackoff(Duration.ofMillis(maxBackoffMillis))
+                        .jitter(0.5)
+                        .filter(retryable)
+                        .doBeforeRetry(signal -> log.info("lambda 재시도 name = {}, 횟수 = {}, error = {}"
+                                , circuitBreakerName, signal.totalRetries() + 1, signal.failure().getMessage()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorMap(e -> !(e instanceof CustomException), e -> {
+                    log.info("error 발생 = {}", e.getMessage());
+                    if (e instanceof CallNotPermittedException) {
+                        return new ExternalApiUnavailableException();
+                    }
+                    return new ExternalApiCallException();
+                });
+    }
 }
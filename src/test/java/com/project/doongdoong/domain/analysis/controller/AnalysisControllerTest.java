@@ -1,6 +1,9 @@
 package com.project.doongdoong.domain.analysis.controller;
 
 import com.project.doongdoong.domain.analysis.dto.response.*;
+import com.project.doongdoong.domain.analysis.exception.AnalysisJobRejectedException;
+import com.project.doongdoong.domain.analysis.exception.TrendUnitInvalidException;
+import com.project.doongdoong.domain.answer.dto.AnswerConfirmRequestDto;
 import com.project.doongdoong.domain.answer.dto.AnswerCreateResponseDto;
 import com.project.doongdoong.module.ControllerTestSupport;
 import org.junit.jupiter.api.DisplayName;
@@ -9,15 +12,20 @@ import org.mockito.Mockito;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class AnalysisControllerTest extends ControllerTestSupport {
@@ -118,7 +126,7 @@ public class AnalysisControllerTest extends ControllerTestSupport {
                 .anaylsisResponseDtoList(List.of(detailResult))
                 .build();
 
-        when(analysisService.getAnalysisList(anyString(), anyInt()))
+        when(analysisService.getAnalysisList(anyString(), anyInt(), anyBoolean()))
                 .thenReturn(result);
         // when, then
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/analysis")
@@ -166,6 +174,54 @@ public class AnalysisControllerTest extends ControllerTestSupport {
                 .build();
     }
 
+    @Test
+    @DisplayName("단위, 기간, 이동 평균 구간 수로 감정 수치 추이를 가져온다.")
+    @WithMockUser
+    void getFeelingStateTrend() throws Exception {
+        //given
+        FeelingStateTrendResponse result = FeelingStateTrendResponse.builder()
+                .unit("WEEK")
+                .window(2)
+                .trends(List.of(
+                        FeelingStateTrendDto.builder().date("2024-03-06").avgFeelingState(40.0).analysisCount(1).movingAvgFeelingState(40.0).partial(true).build()
+                        , FeelingStateTrendDto.builder().date("2024-03-11").avgFeelingState(null).analysisCount(0).movingAvgFeelingState(40.0).partial(false).build()))
+                .build();
+
+        when(analysisService.getFeelingStateTrend(anyString(), eq("week"), eq(14), eq(2)))
+                .thenReturn(result);
+
+        //when, then
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/analysis/trend")
+                        .param("unit", "week")
+                        .param("days", "14")
+                        .param("window", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.unit").value("WEEK"))
+                .andExpect(jsonPath("$.data.trends[0].partial").value(true))
+                .andExpect(jsonPath("$.data.trends[1].avgFeelingState").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 단위로 감정 수치 추이를 요청하면 예외가 발생한다.")
+    @WithMockUser
+    void getFeelingStateTrendWithWrongUnit() throws Exception {
+        //given
+        when(analysisService.getFeelingStateTrend(anyString(), eq("year"), anyInt(), anyInt()))
+                .thenThrow(new TrendUnitInvalidException("year"));
+
+        //when, then
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/analysis/trend")
+                        .param("unit", "year")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("입력한 추이 단위는 존재하지 않습니다. unit = year"));
+    }
+
     @Test
     @DisplayName("각 질문에 대한 답볍인 음성 파일과 음성 파일 기반 텍스트를 통해 사용자의 감정 상태를 수치로 나타냅니다.")
     @WithMockUser
@@ -178,16 +234,91 @@ public class AnalysisControllerTest extends ControllerTestSupport {
                 .build();
 
         when(analysisService.analyzeEmotion(anyLong(), anyString()))
+                .thenReturn(Mono.just(result));
+        //when
+        MvcResult mvcResult = mockMvc.perform(
+                MockMvcRequestBuilders.post("/api/v1/analysis/{id}", exampleId)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.feelingState").value(result.getFeelingState()));
+    }
+    @Test
+    @DisplayName("감정 분석을 작업으로 요청하면 작업 id와 함께 바로 응답합니다.")
+    @WithMockUser
+    void requestAnalyzeEmotion() throws Exception {
+        //given
+        Long exampleId = 1L;
+        AnalysisJobResponse result = AnalysisJobResponse.builder()
+                .jobId(exampleId)
+                .status("QUEUED")
+                .build();
+
+        when(analysisJobService.requestAnalyzeEmotion(anyLong(), anyString()))
                 .thenReturn(result);
         //when, then
         mockMvc.perform(
                 MockMvcRequestBuilders.post("/api/v1/analysis/{id}", exampleId)
+                        .param("async", "true")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/analysis/1/status"))
+                .andExpect(jsonPath("$.data.jobId").value(exampleId))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+
+        verify(analysisService, never()).analyzeEmotion(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("분석 작업 대기열이 가득 차면 재시도 가능한 503 으로 응답합니다.")
+    @WithMockUser
+    void requestAnalyzeEmotionRejected() throws Exception {
+        //given
+        Long exampleId = 1L;
+        when(analysisJobService.requestAnalyzeEmotion(anyLong(), anyString()))
+                .thenThrow(new AnalysisJobRejectedException());
+        //when, then
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/api/v1/analysis/{id}", exampleId)
+                        .param("async", "true")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                 ).andDo(print())
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("감정 분석 작업의 진행 상태를 조회합니다.")
+    @WithMockUser
+    void getAnalysisJob() throws Exception {
+        //given
+        Long exampleId = 1L;
+        double exampleScore = 45.5;
+        AnalysisJobResponse result = AnalysisJobResponse.builder()
+                .jobId(exampleId)
+                .status("DONE")
+                .feelingState(exampleScore)
+                .build();
+
+        when(analysisJobService.getAnalysisJob(anyLong(), anyString()))
+                .thenReturn(result);
+        //when, then
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/analysis/{id}/status", exampleId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data.feelingState").value(result.getFeelingState()));
+                .andExpect(jsonPath("$.data.status").value("DONE"))
+                .andExpect(jsonPath("$.data.feelingState").value(exampleScore));
     }
+
     @Test
     @DisplayName("분석을 위해 제공한 질문들 중 하나의 질문에 대한 음성 파일인 답변을 저장한다.")
     @WithMockUser
@@ -268,4 +399,56 @@ public class AnalysisControllerTest extends ControllerTestSupport {
                 .andExpect(status().isNoContent())
                 .andExpect(jsonPath("$.data").isEmpty());
     }
+
+    @Test
+    @DisplayName("S3 에 직접 업로드한 음성 파일을 확인하고 답변을 저장한다.")
+    @WithMockUser(username = "APPLE_whffkaos007@naver.com")
+    void confirmAnswer() throws Exception {
+        //given
+        String uniqueValue = "APPLE_whffkaos007@naver.com";
+        Long exampleAnalysisId = 1L;
+        AnswerConfirmRequestDto request = AnswerConfirmRequestDto.builder()
+                .questionId(1L)
+                .objectKey("voice/0f8fad5b-d9cb-469f-a165-70867728950e.mp3")
+                .filename("testAudio.mp3")
+                .build();
+        AnswerCreateResponseDto result = AnswerCreateResponseDto.builder()
+                .answerId(1L)
+                .build();
+
+        when(answerService.confirmAnswer(eq(exampleAnalysisId), any(AnswerConfirmRequestDto.class), eq(uniqueValue)))
+                .thenReturn(result);
+
+        //when, then
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/api/v1/analysis/{id}/answer/confirm", exampleAnalysisId)
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.answerId").value(result.getAnswerId()));
+    }
+
+    @Test
+    @DisplayName("업로드 확인 요청에 S3 key 가 없으면 답변을 저장하지 않는다.")
+    @WithMockUser
+    void confirmAnswerWithoutObjectKey() throws Exception {
+        //given
+        AnswerConfirmRequestDto request = AnswerConfirmRequestDto.builder()
+                .questionId(1L)
+                .filename("testAudio.mp3")
+                .build();
+
+        //when, then
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/api/v1/analysis/{id}/answer/confirm", 1L)
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+                ).andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(answerService, never()).confirmAnswer(anyLong(), any(), any());
+    }
 }
@@ -1,8 +1,10 @@
 package com.project.doongdoong.domain.analysis.repository;
 
 import com.project.doongdoong.module.IntegrationSupportTest;
-import com.project.doongdoong.domain.analysis.dto.response.FeelingStateResponseDto;
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisQuestionDetailDto;
+import com.project.doongdoong.domain.analysis.dto.response.AnalysisSummaryDto;
 import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.analysis.model.AnalysisStatus;
 import com.project.doongdoong.domain.answer.model.Answer;
 import com.project.doongdoong.domain.answer.repository.AnswerRepository;
 import com.project.doongdoong.domain.question.model.Question;
@@ -13,15 +15,17 @@ import com.project.doongdoong.domain.user.model.User;
 import com.project.doongdoong.domain.user.repository.UserRepository;
 import com.project.doongdoong.domain.voice.model.Voice;
 import com.project.doongdoong.domain.voice.repository.VoiceRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +39,7 @@ class AnalysisRepositoryTest extends IntegrationSupportTest {
     @Autowired UserRepository userRepository;
     @Autowired AnswerRepository answerRepository;
     @Autowired VoiceRepository voiceRepository;
+    @Autowired EntityManager em;
 
     @Test
     @DisplayName("접근 회원과 고유 분석 번호를 통해 일치하는 분석 정보를 조회합니다.")
@@ -61,115 +66,6 @@ class AnalysisRepositoryTest extends IntegrationSupportTest {
 
     }
 
-    @Test
-    @DisplayName("사용자의 분석 결과를 최신순으로 페이징 조회합니다.")
-    void findAllByUserOrderByCreatedTime(){
-        //given
-        User user = createUser("socialId", SocialType.APPLE);
-        User savedUser = userRepository.save(user);
-        int pageNumber = 1;
-        int pageSize = 5;
-        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
-
-        Analysis analysis1 = createAnalysis(user);
-        Analysis analysis2 = createAnalysis(user);
-        Analysis analysis3 = createAnalysis(user);
-        Analysis analysis4 = createAnalysis(user);
-        Analysis analysis5 = createAnalysis(user);
-        Analysis analysis6 = createAnalysis(user);
-        Analysis analysis7 = createAnalysis(user);
-        analysis1.changeFeelingStateAndAnalyzeTime(10, null);
-        analysis2.changeFeelingStateAndAnalyzeTime(20, null);
-        analysis3.changeFeelingStateAndAnalyzeTime(30, null);
-        analysis4.changeFeelingStateAndAnalyzeTime(40, null);
-        analysis5.changeFeelingStateAndAnalyzeTime(50, null);
-        analysis6.changeFeelingStateAndAnalyzeTime(60, null);
-        analysis7.changeFeelingStateAndAnalyzeTime(70, null);
-
-        analysisRepository.saveAll(List.of(analysis1, analysis2, analysis3, analysis4, analysis5, analysis6, analysis7));
-
-        //when
-        Page<Analysis> result = analysisRepository.findAllByUserOrderByCreatedTime(savedUser, pageRequest);
-
-        //then
-        assertThat(result.hasNext()).isFalse();
-        assertThat(result.getTotalElements()).isEqualTo(7);
-        assertThat(result.getContent())
-                .hasSize(2)
-                .extracting("user.socialId", "feelingState")
-                .containsExactly(
-                        tuple("socialId", 60.0),
-                        tuple("socialId", 70.0)
-                );
-
-
-
-    }
-
-    @DisplayName("특정 시간 내에 있는 사용자의 감정 분석 시간과 감정 수치를 조회합니다.")
-    @ParameterizedTest
-    @CsvSource({"2024-03-05, 2024-03-15", "2024-03-02, 2024-03-30","2024-03-03, 2024-03-27" })
-    void findAllByDateBetween(LocalDate startTime, LocalDate endTime){
-        //given
-        User user = createUser("socialId", SocialType.APPLE);
-
-        User savedUser = userRepository.save(user);
-
-        Analysis analysis1 = createAnalysis(savedUser);
-        Analysis analysis2 = createAnalysis(savedUser);
-        Analysis analysis3 = createAnalysis(savedUser);
-        Analysis analysis4 = createAnalysis(savedUser);
-        Analysis analysis5 = createAnalysis(savedUser);
-
-        analysis1.changeFeelingStateAndAnalyzeTime(72.5, LocalDate.of(2024,3,1));
-        analysis2.changeFeelingStateAndAnalyzeTime(75, LocalDate.of(2024,3,5));
-        analysis3.changeFeelingStateAndAnalyzeTime(77.5, LocalDate.of(2024,3, 15));
-        analysis4.changeFeelingStateAndAnalyzeTime(80, LocalDate.of(2024, 3, 15));
-        analysis5.changeFeelingStateAndAnalyzeTime(80, LocalDate.of(2024, 3, 31));
-
-        analysisRepository.saveAll(List.of(analysis1, analysis2, analysis3, analysis4, analysis5));
-
-        //when
-        List<FeelingStateResponseDto> result = analysisRepository.findAllByDateBetween(savedUser, startTime, endTime);
-        //then
-        assertThat(result).hasSize(2)
-                .extracting("date", "avgFeelingState")
-                .containsExactly(
-                        tuple("2024-3-5", Double.valueOf(75)),
-                        tuple("2024-3-15", Double.valueOf(78.75))
-                );
-
-    }
-
-    @Test
-    @DisplayName("사용자의 가장 최근 분석 조회하기")
-    void findFirstByUserOrderByAnalyzeTimeDesc(){
-        //given
-        User user = createUser("socialId", SocialType.APPLE);
-        User savedUser = userRepository.save(user);
-
-        Analysis analysis1 = createAnalysis(savedUser);
-        Analysis analysis2 = createAnalysis(savedUser);
-        Analysis analysis3 = createAnalysis(savedUser);
-        Analysis analysis4 = createAnalysis(savedUser);
-
-        analysis1.changeFeelingStateAndAnalyzeTime(70, LocalDate.of(2023, 12, 5));
-        analysis2.changeFeelingStateAndAnalyzeTime(75, LocalDate.of(2024, 3, 5));
-        analysis3.changeFeelingStateAndAnalyzeTime(80, LocalDate.of(2024, 6, 27));
-        analysis4.changeFeelingStateAndAnalyzeTime(90, LocalDate.of(2024, 11, 19));
-
-        analysisRepository.saveAll(List.of(analysis1, analysis2, analysis3, analysis4));
-
-        //when
-        Optional<Analysis> result = analysisRepository.findFirstByUserOrderByAnalyzeTimeDesc(savedUser);
-
-        //then
-        assertThat(result.get()).isNotNull()
-                .isEqualTo(analysis4)
-                .extracting("user", "feelingState", "analyzeTime")
-                .contains(savedUser, analysis4.getFeelingState(), analysis4.getAnalyzeTime());
-    }
-
     @Test
     @DisplayName("분석 정보와 분석에 사용된 질문들을 조회합니다.")
     void findAnalysisWithQuestion(){
@@ -263,11 +159,160 @@ class AnalysisRepositoryTest extends IntegrationSupportTest {
     }
 
 
+    @Test
+    @DisplayName("분석의 질문과 질문별 답변 내용을 질문 순서대로 한 번에 조회한다.")
+    void searchAnalysisDetail(){
+        //given
+        User user = createUser("socialId", SocialType.APPLE);
+        userRepository.save(user);
+
+        Answer answer1 = createAnswer(null, "질문에 대한 답변 텍스트1");
+        Answer answer2 = createAnswer(null, "질문에 대한 답변 텍스트2");
+        answerRepository.saveAll(List.of(answer1, answer2));
+
+        Question question1 = createQuestion(QuestionContent.FIXED_QUESTION1);
+        Question question2 = createQuestion(QuestionContent.FIXED_QUESTION2);
+        Question question3 = createQuestion(QuestionContent.UNFIXED_QUESTION1);
+        List<Question> questions = List.of(question1, question2, question3);
+        Analysis analysis = createAnalysis(user, questions);
+        questions.forEach(question -> question.connectAnalysis(analysis));
+        question1.connectAnswer(answer1);
+        question2.connectAnswer(answer2);
+
+        analysisRepository.save(analysis);
+
+        //when
+        List<AnalysisQuestionDetailDto> result = analysisRepository.searchAnalysisDetail(analysis.getId());
+
+        //then
+        assertThat(result).hasSize(3)
+                .extracting("analysisId", "questionId", "questionContent", "answerContent")
+                .containsExactly(
+                        tuple(analysis.getId(), question1.getId(), QuestionContent.FIXED_QUESTION1, "질문에 대한 답변 텍스트1"),
+                        tuple(analysis.getId(), question2.getId(), QuestionContent.FIXED_QUESTION2, "질문에 대한 답변 텍스트2"),
+                        tuple(analysis.getId(), question3.getId(), QuestionContent.UNFIXED_QUESTION1, null)
+                );
+    }
+
+
+    @Test
+    @DisplayName("전체 개수 조회 없이 분석 목록과 분석별 질문을 페이징 조회한다.")
+    void searchPageAnalysisListWithoutCount(){
+        //given
+        User user = createUser("socialId", SocialType.APPLE);
+        userRepository.save(user);
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        List<Analysis> analyses = new ArrayList<>();
+        for(int i=0; i<3; i++){
+            List<Question> questions = List.of(createQuestion(QuestionContent.FIXED_QUESTION1), createQuestion(QuestionContent.UNFIXED_QUESTION2));
+            Analysis analysis = createAnalysis(user, questions);
+            questions.forEach(question -> question.connectAnalysis(analysis));
+            analyses.add(analysis);
+        }
+        analysisRepository.saveAll(analyses);
+
+        //when
+        Page<AnalysisSummaryDto> result = analysisRepository.searchPageAnalysisList(user, pageRequest, false);
+
+        //then
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent())
+                .hasSize(2)
+                .extracting("analysisId", "questionContents")
+                .containsExactly(
+                        tuple(analyses.get(0).getId(), List.of(QuestionContent.FIXED_QUESTION1, QuestionContent.UNFIXED_QUESTION2)),
+                        tuple(analyses.get(1).getId(), List.of(QuestionContent.FIXED_QUESTION1, QuestionContent.UNFIXED_QUESTION2))
+                );
+    }
+
+    @Test
+    @DisplayName("커서 이후의 본인 분석 목록을 (생성 시각, 고유 번호) 최신순으로 조회한다.")
+    void searchAnalysisListByCursor(){
+        //given
+        User user = createUser("socialId", SocialType.APPLE);
+        User otherUser = createUser("otherSocialId", SocialType.APPLE);
+        userRepository.saveAll(List.of(user, otherUser));
+
+        List<Analysis> analyses = new ArrayList<>();
+        for(int i=0; i<4; i++){
+            List<Question> questions = List.of(createQuestion(QuestionContent.FIXED_QUESTION1));
+            Analysis analysis = createAnalysis(user, questions);
+            questions.forEach(question -> question.connectAnalysis(analysis));
+            analyses.add(analysis);
+        }
+        analyses.add(createAnalysis(otherUser));
+        analysisRepository.saveAllAndFlush(analyses);
+
+        LocalDateTime sameTime = LocalDateTime.of(2024, 3, 5, 12, 0);
+        changeCreatedTime(analyses.subList(0, 3), sameTime); // 생성 시각이 같으면 고유 번호로 순서 결정
+        changeCreatedTime(List.of(analyses.get(3)), sameTime.minusDays(1));
+        changeCreatedTime(List.of(analyses.get(4)), sameTime);
+        em.clear();
+
+        //when
+        Slice<AnalysisSummaryDto> firstSlice = analysisRepository.searchAnalysisListByCursor(user, null, null, 2);
+        AnalysisSummaryDto cursor = firstSlice.getContent().get(1);
+        Slice<AnalysisSummaryDto> lastSlice = analysisRepository.searchAnalysisListByCursor(user, cursor.getCreatedTime(), cursor.getAnalysisId(), 2);
+
+        //then
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(firstSlice.getContent())
+                .extracting("analysisId", "questionContents")
+                .containsExactly(
+                        tuple(analyses.get(2).getId(), List.of(QuestionContent.FIXED_QUESTION1)),
+                        tuple(analyses.get(1).getId(), List.of(QuestionContent.FIXED_QUESTION1))
+                );
+        assertThat(lastSlice.hasNext()).isFalse();
+        assertThat(lastSlice.getContent())
+                .extracting("analysisId")
+                .containsExactly(analyses.get(0).getId(), analyses.get(3).getId());
+    }
+
+    @Test
+    @DisplayName("lease 가 끝난 대기, 진행 중 분석 작업만 FAILED 로 되돌리고, 되돌린 작업은 다시 대기 상태로 요청할 수 있다.")
+    void updateStaleJobsToFailed(){
+        //given
+        User user = createUser("socialId", SocialType.APPLE);
+        userRepository.save(user);
+        LocalDateTime now = LocalDateTime.now();
+
+        Analysis staleAnalysis = createAnalysis(user);
+        staleAnalysis.changeAnalysisStatus(AnalysisStatus.RUNNING);
+        ReflectionTestUtils.setField(staleAnalysis, "jobLeaseTime", now.minusHours(1)); // 서버 종료로 중단된 작업
+        Analysis runningAnalysis = createAnalysis(user);
+        runningAnalysis.changeAnalysisStatus(AnalysisStatus.QUEUED);
+        analysisRepository.saveAllAndFlush(List.of(staleAnalysis, runningAnalysis));
+
+        //when
+        int recovered = analysisRepository.updateStaleJobsToFailed(AnalysisStatus.QUEUED, AnalysisStatus.RUNNING
+                , AnalysisStatus.FAILED, now, now.minusMinutes(10));
+        int requeuedStale = analysisRepository.updateAnalysisStatusToQueued(staleAnalysis.getId(), AnalysisStatus.QUEUED
+                , AnalysisStatus.RUNNING, AnalysisStatus.FAILED, now, now.minusMinutes(10));
+        int requeuedRunning = analysisRepository.updateAnalysisStatusToQueued(runningAnalysis.getId(), AnalysisStatus.QUEUED
+                , AnalysisStatus.RUNNING, AnalysisStatus.FAILED, now, now.minusMinutes(10));
+
+        //then
+        assertThat(recovered).isEqualTo(1);
+        assertThat(requeuedStale).isEqualTo(1);
+        assertThat(requeuedRunning).isZero(); // lease 가 남은 작업은 중복 요청 거절
+        assertThat(analysisRepository.findById(staleAnalysis.getId()).get().getAnalysisStatus()).isEqualTo(AnalysisStatus.QUEUED);
+    }
+
+    private void changeCreatedTime(List<Analysis> analyses, LocalDateTime createdTime) { // 생성 시각은 auditing 으로만 설정되므로 직접 변경
+        em.createNativeQuery("update analysis set created_time = :createdTime where analysis_id in :ids")
+                .setParameter("createdTime", createdTime)
+                .setParameter("ids", analyses.stream().map(Analysis::getId).toList())
+                .executeUpdate();
+    }
+
     private static Voice createVoice(String fileName, QuestionContent questionContent) {
-        return Voice.initVoiceContentBuilder()
+        Voice voice = Voice.initVoiceContentBuilder()
                 .originName(fileName)
                 .questionContent(questionContent)
                 .build();
+        voice.changeAccessUrl("임의의 접근 url 주소/" + fileName); // access_url unique
+        return voice;
     }
 
     private static Answer createAnswer(Voice voice, String content) {
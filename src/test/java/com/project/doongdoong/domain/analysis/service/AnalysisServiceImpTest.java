@@ -3,9 +3,11 @@ package com.project.doongdoong.domain.analysis.service;
 import com.project.doongdoong.domain.analysis.dto.response.*;
 import com.project.doongdoong.domain.analysis.exception.AllAnswersNotFoundException;
 import com.project.doongdoong.domain.analysis.exception.AlreadyAnalyzedException;
+import com.project.doongdoong.domain.analysis.exception.AnalysisJobConflictException;
 import com.project.doongdoong.module.IntegrationSupportTest;
 import com.project.doongdoong.domain.analysis.exception.AnalysisNotFoundException;
 import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.analysis.model.AnalysisStatus;
 import com.project.doongdoong.domain.analysis.repository.AnalysisRepository;
 import com.project.doongdoong.domain.answer.model.Answer;
 import com.project.doongdoong.domain.answer.repository.AnswerRepository;
@@ -20,7 +22,9 @@ import com.project.doongdoong.domain.voice.repository.VoiceRepository;
 import org.hibernate.query.sqm.mutation.internal.cte.CteInsertStrategy;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Mono;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -58,7 +62,7 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
                     .originName(questionContent.getText() +"_voice.mp3")
                     .questionContent(questionContent)
                     .build();
-            voice.changeAccessUrl("임의의 접근 url 주소");
+            voice.changeAccessUrl("임의의 접근 url 주소/" + questionContent.name()); // access_url unique
             voiceRepository.save(voice);
         }
 
@@ -107,7 +111,7 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
                     .originName(questionContent.getText() +"_voice.mp3")
                     .questionContent(questionContent)
                     .build();
-            voice.changeAccessUrl("임의의 접근 url 주소");
+            voice.changeAccessUrl("임의의 접근 url 주소/" + questionContent.name()); // access_url unique
             voiceRepository.save(voice);
         }
 
@@ -125,6 +129,7 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
         Question question4 = createQuestion(QuestionContent.UNFIXED_QUESTION3);
         List<Question> questions = List.of(question1, question2, question3, question4);
         Analysis analysis = createAnalysis(user, questions);
+        questions.forEach(question -> question.connectAnalysis(analysis));
 
         question1.connectAnswer(answer1);
         question2.connectAnswer(answer2);
@@ -173,7 +178,7 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
                     .originName(questionContent.getText() +"_voice.mp3")
                     .questionContent(questionContent)
                     .build();
-            voice.changeAccessUrl("임의의 접근 url 주소");
+            voice.changeAccessUrl("임의의 접근 url 주소/" + questionContent.name()); // access_url unique
             voiceRepository.save(voice);
         }
         Answer answer1 = createAnswer("답변1보이스를 STT로 변경한 텍스트");
@@ -217,22 +222,18 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
         User user = createUser(socialId, socialType);
         User savedUser = userRepository.save(user);
 
-        Question question1 = createQuestion(QuestionContent.FIXED_QUESTION1);
-        Question question2 = createQuestion(QuestionContent.FIXED_QUESTION2);
-        Question question3 = createQuestion(QuestionContent.FIXED_QUESTION3);
-        Question question4 = createQuestion(QuestionContent.UNFIXED_QUESTION3);
-        Question question5 = createQuestion(QuestionContent.UNFIXED_QUESTION1);
-        Question question6 = createQuestion(QuestionContent.UNFIXED_QUESTION4);
-        List<Question> questions1 = List.of(question1, question2, question4, question5);
-        List<Question> questions2 = List.of(question2, question3, question5, question6);
-
-        Analysis analysis1 = createAnalysis(savedUser, questions1);
-        Analysis analysis2 = createAnalysis(savedUser, questions1);
-        Analysis analysis3 = createAnalysis(savedUser, questions1);
-        Analysis analysis4 = createAnalysis(savedUser, questions2);
-        Analysis analysis5 = createAnalysis(savedUser, questions2);
-        Analysis analysis6 = createAnalysis(savedUser, questions2);
-        Analysis analysis7 = createAnalysis(savedUser, questions2);
+        List<QuestionContent> questionContents1 = List.of(QuestionContent.FIXED_QUESTION1, QuestionContent.FIXED_QUESTION2
+                , QuestionContent.UNFIXED_QUESTION3, QuestionContent.UNFIXED_QUESTION1);
+        List<QuestionContent> questionContents2 = List.of(QuestionContent.FIXED_QUESTION2, QuestionContent.FIXED_QUESTION3
+                , QuestionContent.UNFIXED_QUESTION1, QuestionContent.UNFIXED_QUESTION4);
+
+        Analysis analysis1 = createAnalysisWithQuestions(savedUser, questionContents1);
+        Analysis analysis2 = createAnalysisWithQuestions(savedUser, questionContents1);
+        Analysis analysis3 = createAnalysisWithQuestions(savedUser, questionContents1);
+        Analysis analysis4 = createAnalysisWithQuestions(savedUser, questionContents2);
+        Analysis analysis5 = createAnalysisWithQuestions(savedUser, questionContents2);
+        Analysis analysis6 = createAnalysisWithQuestions(savedUser, questionContents2);
+        Analysis analysis7 = createAnalysisWithQuestions(savedUser, questionContents2);
         List<Analysis> analysies = List.of(analysis1, analysis2, analysis3, analysis4, analysis5, analysis6, analysis7);
         analysisRepository.saveAll(analysies);
 
@@ -240,37 +241,37 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
         int pageNumber = 0;
 
         //when
-        AnaylsisListResponseDto response = analysisService.getAnalysisList(uniqueValue, pageNumber);
+        AnaylsisListResponseDto response = analysisService.getAnalysisList(uniqueValue, pageNumber, true);
 
         //then
         assertThat(response)
-                .extracting("pageNumber", "totalPage")
-                .containsExactly(1, 1);
+                .extracting("pageNumber", "totalPage", "hasNext")
+                .containsExactly(1, 1, false);
 
         assertThat(response.getAnaylsisResponseDtoList())
                 .hasSize(analysies.size())
                 .extracting("analysisId", "questionContent")
                 .containsExactlyInAnyOrder(
-                        tuple(analysis1.getId(), questions1.stream()
-                                .map(question -> question.getQuestionContent().getText())
+                        tuple(analysis1.getId(), questionContents1.stream()
+                                .map(QuestionContent::getText)
                                 .collect(Collectors.toList())),
-                        tuple(analysis2.getId(), questions1.stream()
-                                .map(question -> question.getQuestionContent().getText())
+                        tuple(analysis2.getId(), questionContents1.stream()
+                                .map(QuestionContent::getText)
                                 .collect(Collectors.toList())),
-                        tuple(analysis3.getId(), questions1.stream()
-                                .map(question -> question.getQuestionContent().getText())
+                        tuple(analysis3.getId(), questionContents1.stream()
+                                .map(QuestionContent::getText)
                                 .collect(Collectors.toList())),
-                        tuple(analysis4.getId(), questions2.stream()
-                                .map(question -> question.getQuestionContent().getText())
+                        tuple(analysis4.getId(), questionContents2.stream()
+                                .map(QuestionContent::getText)
                                 .collect(Collectors.toList())),
-                        tuple(analysis5.getId(), questions2.stream()
-                                .map(question -> question.getQuestionContent().getText())
+                        tuple(analysis5.getId(), questionContents2.stream()
+                                .map(QuestionContent::getText)
                                 .collect(Collectors.toList())),
-                        tuple(analysis6.getId(), questions2.stream()
-                                .map(question -> question.getQuestionContent().getText())
+                        tuple(analysis6.getId(), questionContents2.stream()
+                                .map(QuestionContent::getText)
                                 .collect(Collectors.toList())),
-                        tuple(analysis7.getId(), questions2.stream()
-                                .map(question -> question.getQuestionContent().getText())
+                        tuple(analysis7.getId(), questionContents2.stream()
+                                .map(QuestionContent::getText)
                                 .collect(Collectors.toList()))
                 );
     }
@@ -339,6 +340,73 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
                 );
     }
 
+    @Test
+    @DisplayName("일 단위 감정 수치 추이와 이동 평균을 제공한다.")
+    void getFeelingStateTrend(){
+        //given
+        String socialId = "socialId";
+        SocialType socialType = SocialType.APPLE;
+        User savedUser = userRepository.save(createUser(socialId, socialType));
+        String uniqueValue = savedUser.getSocialId() + "_" + savedUser.getSocialType().getText();
+
+        LocalDate today = now();
+        LocalDate twoDaysAgo = today.minusDays(2);
+        Analysis analysis1 = createAnalysis(savedUser);
+        Analysis analysis2 = createAnalysis(savedUser);
+        Analysis analysis3 = createAnalysis(savedUser);
+        analysis1.changeFeelingStateAndAnalyzeTime(10.0, today);
+        analysis2.changeFeelingStateAndAnalyzeTime(20.0, today);
+        analysis3.changeFeelingStateAndAnalyzeTime(40.0, twoDaysAgo);
+        analysisRepository.saveAll(List.of(analysis1, analysis2, analysis3));
+
+        int days = 3;
+        int window = 2;
+
+        //when
+        FeelingStateTrendResponse result = analysisService.getFeelingStateTrend(uniqueValue, "day", days, window);
+
+        //then
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        assertThat(result.getUnit()).isEqualTo("DAY");
+        assertThat(result.getTrends())
+                .extracting("date", "avgFeelingState", "analysisCount", "movingAvgFeelingState")
+                .containsExactly(
+                        tuple(twoDaysAgo.format(formatter), 40.0, 1, 40.0),
+                        tuple(today.minusDays(1).format(formatter), null, 0, 40.0),
+                        tuple(today.format(formatter), 15.0, 2, 15.0)
+                );
+    }
+
+    @Test
+    @DisplayName("주 단위 추이의 첫 구간은 조회 시작일부터 집계하고 일부 구간임을 표시한다.")
+    void getFeelingStateTrendByWeek(){
+        //given
+        User savedUser = userRepository.save(createUser("socialId", SocialType.APPLE));
+        String uniqueValue = savedUser.getSocialId() + "_" + savedUser.getSocialType().getText();
+
+        int days = 10;
+        LocalDate today = now();
+        LocalDate startDate = today.minusDays(days - 1);
+        Analysis inWindow = createAnalysis(savedUser);
+        Analysis beforeWindow = createAnalysis(savedUser);
+        inWindow.changeFeelingStateAndAnalyzeTime(40.0, startDate);
+        beforeWindow.changeFeelingStateAndAnalyzeTime(90.0, startDate.minusDays(1)); // 조회 기간 밖
+        analysisRepository.saveAll(List.of(inWindow, beforeWindow));
+
+        //when
+        FeelingStateTrendResponse result = analysisService.getFeelingStateTrend(uniqueValue, "week", days, 1);
+
+        //then
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        FeelingStateTrendDto first = result.getTrends().get(0);
+        assertThat(first.getDate()).isEqualTo(startDate.format(formatter));
+        assertThat(first.getAnalysisCount()).isEqualTo(1);
+        assertThat(first.getAvgFeelingState()).isEqualTo(40.0);
+        assertThat(first.isPartial()).isEqualTo(startDate.getDayOfWeek() != DayOfWeek.MONDAY);
+        assertThat(result.getTrends()).extracting("analysisCount", Integer.class)
+                .containsOnly(1, 0);
+    }
+
     @TestFactory
     @DisplayName("여러 경우에 대한 감정 분석 시나리오 테스트")
     java.util.Collection<DynamicTest> analyzeEmotion(){
@@ -384,16 +452,16 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
                         responseListByVoice.add(createFellingStatus(randomValue2, index));
                     }
                     when(webClientUtil.callAnalyzeEmotion(any(List.class)))
-                            .thenReturn(responseListByText);
+                            .thenReturn(Mono.just(responseListByText));
                     when(webClientUtil.callAnalyzeEmotionVoice(any(List.class)))
-                            .thenReturn(responseListByVoice);
+                            .thenReturn(Mono.just(responseListByVoice));
 
                     double analysisTextRate = 0.35;
                     double analysisVoiceRate = 0.65;
                     double resultStatus = analysisTextRate * averageFellingStatusBy(responseListByText)
                             + analysisVoiceRate * averageFellingStatusBy(responseListByVoice);
                     //when
-                    FellingStateCreateResponse result = analysisService.analyzeEmotion(savedAnalysis.getId(), uniqueValue);
+                    FellingStateCreateResponse result = analysisService.analyzeEmotion(savedAnalysis.getId(), uniqueValue).block();
                     //then
                     assertThat(result)
                             .extracting("transcribedText", "feelingState")
@@ -415,6 +483,26 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
 
     }
 
+    @Test
+    @DisplayName("분석 작업이 대기 중이거나 실행 중인 분석 정보는 동기 감정 분석을 할 수 없습니다.")
+    void analyzeEmotionWhileJobInProgress(){
+        //given
+        User savedUser = userRepository.save(createUser("socialId", SocialType.APPLE));
+        String uniqueValue = savedUser.getSocialId() + "_" + savedUser.getSocialType().getText();
+
+        Analysis analysis = createAnalysis(savedUser, List.of(createQuestion(QuestionContent.FIXED_QUESTION1), createQuestion(QuestionContent.FIXED_QUESTION2)
+                , createQuestion(QuestionContent.UNFIXED_QUESTION1), createQuestion(QuestionContent.UNFIXED_QUESTION2)));
+        for(int index=0; index<4; index++){
+            createAnswer("답변" + index).connectAnalysis(analysis);
+        }
+        analysis.changeAnalysisStatus(AnalysisStatus.QUEUED);
+        Analysis savedAnalysis = analysisRepository.save(analysis);
+
+        //when & then
+        assertThatThrownBy(() -> analysisService.analyzeEmotion(savedAnalysis.getId(), uniqueValue))
+                .isInstanceOf(AnalysisJobConflictException.class);
+    }
+
     @Test
     @DisplayName("존재하는 분석을 삭제합니다.")
     void removeAnaylsis(){
@@ -424,7 +512,7 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
                     .originName(questionContent.getText() +"_voice.mp3")
                     .questionContent(questionContent)
                     .build();
-            voice.changeAccessUrl("임의의 접근 url 주소");
+            voice.changeAccessUrl("임의의 접근 url 주소/" + questionContent.name()); // access_url unique
             voiceRepository.save(voice);
         }
 
@@ -498,6 +586,19 @@ class AnalysisServiceImpTest extends IntegrationSupportTest {
                 .build();
     }
 
+    private static List<Question> createQuestions(List<QuestionContent> questionContents) {
+        return questionContents.stream()
+                .map(questionContent -> createQuestion(questionContent))
+                .collect(Collectors.toList());
+    }
+
+    private static Analysis createAnalysisWithQuestions(User user, List<QuestionContent> questionContents) {
+        List<Question> questions = createQuestions(questionContents);
+        Analysis analysis = createAnalysis(user, questions);
+        questions.forEach(question -> question.connectAnalysis(analysis)); // 질문마다 분석과 연관관계 설정
+        return analysis;
+    }
+
     private static Analysis createAnalysis(User user) {
         return Analysis.builder()
                 .user(user)
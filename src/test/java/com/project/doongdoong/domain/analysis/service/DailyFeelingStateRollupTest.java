@@ -0,0 +1,191 @@
+package com.project.doongdoong.domain.analysis.service;
+
+import com.project.doongdoong.domain.analysis.dto.response.DailyFeelingStateDto;
+import com.project.doongdoong.domain.analysis.model.Analysis;
+import com.project.doongdoong.domain.analysis.model.DailyFeelingState;
+import com.project.doongdoong.domain.analysis.repository.AnalysisRepository;
+import com.project.doongdoong.domain.analysis.repository.DailyFeelingStateRepository;
+import com.project.doongdoong.domain.user.model.SocialType;
+import com.project.doongdoong.domain.user.model.User;
+import com.project.doongdoong.domain.user.repository.UserRepository;
+import com.project.doongdoong.module.IntegrationSupportTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DailyFeelingStateRollupTest extends IntegrationSupportTest {
+
+    private static final LocalDate DAY1 = LocalDate.of(2024, 3, 5);
+    private static final LocalDate DAY2 = LocalDate.of(2024, 3, 6);
+
+    @Autowired DailyFeelingStateRollup dailyFeelingStateRollup;
+    @Autowired DailyFeelingStateRepository dailyFeelingStateRepository;
+    @Autowired AnalysisRepository analysisRepository;
+    @Autowired AnalysisService analysisService;
+    @Autowired UserRepository userRepository;
+
+    User savedUser;
+
+    @BeforeEach
+    void setUp() {
+        savedUser = userRepository.save(User.builder()
+                .socialId("socialId")
+                .socialType(SocialType.APPLE)
+                .build());
+    }
+
+    @Test
+    @DisplayName("해당 일자의 첫 분석 결과가 저장되면 일자별 집계 row 를 새로 만든다.")
+    void accumulateFirstAnalysisOfDay() {
+        //when
+        saveAnalyzedAnalysis(70, DAY1);
+
+        //then
+        assertThat(findDailyFeelingStates())
+                .extracting("analyzeDate", "feelingStateSum", "analysisCount")
+                .containsExactly(tuple(DAY1, 70.0, 1));
+    }
+
+    @Test
+    @DisplayName("같은 일자의 분석 결과는 기존 집계 row 에 더하고, 다른 일자는 따로 집계한다.")
+    void accumulateSameDay() {
+        //when
+        saveAnalyzedAnalysis(70, DAY1);
+        saveAnalyzedAnalysis(80, DAY1);
+        saveAnalyzedAnalysis(60, DAY2);
+
+        //then
+        assertThat(findDailyFeelingStates())
+                .extracting("analyzeDate", "feelingStateSum", "analysisCount")
+                .containsExactly(
+                        tuple(DAY1, 150.0, 2),
+                        tuple(DAY2, 60.0, 1)
+                );
+    }
+
+    @Test
+    @DisplayName("분석을 삭제하면 집계에서 빼고, 남은 분석이 없는 일자는 조회되지 않는다.")
+    void decrementOnDelete() {
+        //given
+        Analysis analysis1 = saveAnalyzedAnalysis(70, DAY1);
+        saveAnalyzedAnalysis(80, DAY1);
+        Analysis analysis3 = saveAnalyzedAnalysis(60, DAY2);
+
+        //when
+        analysisService.removeAnaylsis(analysis1.getId());
+        analysisService.removeAnaylsis(analysis3.getId());
+
+        //then
+        assertThat(findDailyFeelingStates())
+                .extracting("analyzeDate", "feelingStateSum", "analysisCount")
+                .containsExactly(tuple(DAY1, 80.0, 1));
+    }
+
+    @Test
+    @DisplayName("집계 테이블이 비어 있으면 기존 분석 결과를 일자별로 이관한다.")
+    void backfill() {
+        //given
+        saveAnalyzedAnalysis(70, DAY1);
+        saveAnalyzedAnalysis(80, DAY1);
+        saveAnalyzedAnalysis(60, DAY2);
+        dailyFeelingStateRepository.deleteAllInBatch(); // 집계 테이블 도입 전 상태
+        ReflectionTestUtils.setField(dailyFeelingStateRollup, "backfillOnStartup", true);
+
+        //when
+        dailyFeelingStateRollup.backfill();
+
+        //then
+        assertThat(findDailyFeelingStates())
+                .extracting("analyzeDate", "feelingStateSum", "analysisCount")
+                .containsExactly(
+                        tuple(DAY1, 150.0, 2),
+                        tuple(DAY2, 60.0, 1)
+                );
+    }
+
+    @Test
+    @DisplayName("집계 row 가 일부 있어도 (사용자, 일자) 별로 분석 결과와 비교해서 빠진 일자와 어긋난 일자를 다시 이관한다.")
+    void backfillPartiallyAggregated() {
+        //given
+        saveAnalyzedAnalysis(70, DAY1);
+        saveAnalyzedAnalysis(60, DAY2);
+        dailyFeelingStateRepository.deleteAllInBatch(); // 집계 테이블 도입 전 상태
+        saveAnalyzedAnalysis(80, DAY1); // 도입 후 분석은 집계에 반영됨
+        ReflectionTestUtils.setField(dailyFeelingStateRollup, "backfillOnStartup", true);
+
+        //when
+        dailyFeelingStateRollup.backfill();
+
+        //then
+        assertThat(findDailyFeelingStates())
+                .extracting("analyzeDate", "feelingStateSum", "analysisCount")
+                .containsExactly(
+                        tuple(DAY1, 150.0, 2),
+                        tuple(DAY2, 60.0, 1)
+                );
+    }
+
+    @Test
+    @DisplayName("이미 분석 결과와 일치하는 집계 row 는 다시 계산하지 않는다.")
+    void recomputeSkipsConsistentRow() {
+        //given
+        saveAnalyzedAnalysis(70, DAY1);
+        saveAnalyzedAnalysis(80, DAY1);
+
+        //when
+        int recomputed = dailyFeelingStateRepository.recomputeFromAnalysis();
+
+        //then
+        assertThat(recomputed).isZero();
+        assertThat(findDailyFeelingStates())
+                .extracting("analyzeDate", "feelingStateSum", "analysisCount")
+                .containsExactly(tuple(DAY1, 150.0, 2));
+    }
+
+    @Test
+    @DisplayName("이관 쿼리는 이미 집계된 (사용자, 일자)를 건너뛰므로 다른 서버가 먼저 이관해도 중복 row 를 만들지 않는다.")
+    void backfillSkipsExistingDate() {
+        //given
+        saveAnalyzedAnalysis(70, DAY1);
+        saveAnalyzedAnalysis(60, DAY2);
+        dailyFeelingStateRepository.deleteAllInBatch();
+        dailyFeelingStateRepository.save(DailyFeelingState.builder()
+                .userId(savedUser.getId())
+                .analyzeDate(DAY1)
+                .feelingStateSum(70)
+                .analysisCount(1)
+                .build());
+
+        //when
+        int inserted = dailyFeelingStateRepository.backfillFromAnalysis();
+
+        //then
+        assertThat(inserted).isEqualTo(1);
+        assertThat(findDailyFeelingStates())
+                .extracting("analyzeDate", "feelingStateSum", "analysisCount")
+                .containsExactly(
+                        tuple(DAY1, 70.0, 1),
+                        tuple(DAY2, 60.0, 1)
+                );
+    }
+
+    private Analysis saveAnalyzedAnalysis(double feelingState, LocalDate analyzeDate) {
+        Analysis analysis = Analysis.builder()
+                .user(savedUser)
+                .build();
+        analysis.changeFeelingStateAndAnalyzeTime(feelingState, analyzeDate);
+        return analysisRepository.save(analysis); // 도메인 이벤트로 일자별 집계 갱신
+    }
+
+    private List<DailyFeelingStateDto> findDailyFeelingStates() {
+        return dailyFeelingStateRepository.findAllByUserIdAndDateBetween(savedUser.getId(), DAY1, DAY2);
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -110,4 +111,49 @@ class CounselRepositoryTest extends IntegrationSupportTest{
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("커서 이후의 본인 상담 기록을 최신순으로 조회한다.")
+    void searchCounselListByCursor(){
+        //given
+        User user = User.builder()
+                .nickname("짱구")
+                .email("whffkaos007@naver.com")
+                .build();
+        User savedUser = userRepository.save(user);
+
+        Counsel counsel1 = Counsel.builder()
+                .user(savedUser)
+                .question("질문1")
+                .counselType(CounselType.FAMILY)
+                .build();
+        Counsel counsel2 = Counsel.builder()
+                .user(savedUser)
+                .question("질문2")
+                .counselType(CounselType.JOB)
+                .build();
+        Counsel counsel3 = Counsel.builder()
+                .user(savedUser)
+                .question("질문3")
+                .counselType(CounselType.LOVE)
+                .build();
+        counselRepository.saveAll(List.of(counsel1, counsel2, counsel3));
+
+        int size = 1;
+
+        //when
+        Slice<Counsel> firstSlice = counselRepository.searchCounselListByCursor(savedUser, null, null, size);
+        Counsel cursor = firstSlice.getContent().get(0);
+        Slice<Counsel> nextSlice = counselRepository.searchCounselListByCursor(savedUser, cursor.getCreatedTime(), cursor.getId(), 2);
+
+        //then
+        Assertions.assertThat(firstSlice.hasNext()).isTrue();
+        Assertions.assertThat(firstSlice.getContent())
+                .extracting("question")
+                .containsExactly("질문3");
+        Assertions.assertThat(nextSlice.hasNext()).isFalse();
+        Assertions.assertThat(nextSlice.getContent())
+                .extracting("question")
+                .containsExactly("질문2", "질문1");
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.doongdoong.domain.user.service;
+
+import com.project.doongdoong.domain.user.exeception.UserNotFoundException;
+import com.project.doongdoong.domain.user.model.SocialType;
+import com.project.doongdoong.domain.user.model.User;
+import com.project.doongdoong.domain.user.repository.UserRepository;
+import com.project.doongdoong.module.IntegrationSupportTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserIdentityResolverTest extends IntegrationSupportTest {
+
+    @Autowired UserRepository userRepository;
+
+    SimpleMeterRegistry meterRegistry;
+    UserIdentityResolver userIdentityResolver;
+
+    @BeforeEach
+    void setUp() { // 테스트 설정은 캐시를 끄므로, 테스트마다 캐시를 켠 resolver 를 새로 만들어 롤백된 id 가 남지 않도록 함
+        meterRegistry = new SimpleMeterRegistry();
+        userIdentityResolver = new UserIdentityResolver(userRepository, meterRegistry, true, 100, 600);
+    }
+
+    @Test
+    @DisplayName("한 번 조회한 사용자 id 는 캐시에서 반환한다.")
+    void resolveUserIdFromCache() {
+        //given
+        User savedUser = userRepository.save(createUser("socialId", SocialType.APPLE));
+        String uniqueValue = uniqueValueOf(savedUser);
+
+        //when
+        Long first = userIdentityResolver.resolveUserId(uniqueValue);
+        Long second = userIdentityResolver.resolveUserId(uniqueValue);
+
+        //then
+        assertThat(first).isEqualTo(savedUser.getId());
+        assertThat(second).isEqualTo(savedUser.getId());
+        assertThat(cacheGets("miss")).isEqualTo(1);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시 적재 이후 가입한 사용자도 조회되고, 가입 전 조회 실패는 캐시하지 않는다.")
+    void resolveUserReferenceCreatedAfterWarmUp() {
+        //given
+        User warmUpUser = userRepository.save(createUser("socialId1", SocialType.APPLE));
+        userIdentityResolver.resolveUserId(uniqueValueOf(warmUpUser)); // 캐시 적재
+
+        String newUniqueValue = "socialId2_" + SocialType.APPLE.getText();
+        assertThatThrownBy(() -> userIdentityResolver.resolveUserId(newUniqueValue))
+                .isInstanceOf(UserNotFoundException.class);
+
+        User newUser = userRepository.save(createUser("socialId2", SocialType.APPLE));
+
+        //when
+        User reference = userIdentityResolver.resolveUserReference(newUniqueValue);
+
+        //then
+        assertThat(reference.getId()).isEqualTo(newUser.getId());
+        assertThat(userIdentityResolver.resolveUserId(uniqueValueOf(warmUpUser))).isEqualTo(warmUpUser.getId());
+        assertThat(cacheGets("hit")).isEqualTo(1);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    private static String uniqueValueOf(User user) {
+        return user.getSocialId() + "_" + user.getSocialType().getText();
+    }
+
+    private static User createUser(String socialId, SocialType socialType) {
+        return User.builder()
+                .socialId(socialId)
+                .socialType(socialType)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.doongdoong.domain.voice.repository;
+
+import com.project.doongdoong.domain.voice.model.VoiceDeleteOutbox;
+import com.project.doongdoong.module.IntegrationSupportTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoiceDeleteOutboxRepositoryTest extends IntegrationSupportTest {
+
+    private static final String OBJECT_KEY = "voice/0f8fad5b-d9cb-469f-a165-70867728950e.mp3";
+
+    @Autowired VoiceDeleteOutboxRepository voiceDeleteOutboxRepository;
+
+    @Test
+    @DisplayName("업로드 예약은 URL 을 발급받은 사용자, 분석, 질문이 모두 같을 때만 확인하고 한 번만 지울 수 있다.")
+    void uploadReservation() {
+        //given
+        voiceDeleteOutboxRepository.save(VoiceDeleteOutbox.uploadReservationBuilder()
+                .objectKey(OBJECT_KEY)
+                .nextAttemptTime(LocalDateTime.now().plusHours(1))
+                .userId(1L)
+                .analysisId(2L)
+                .questionId(3L)
+                .build());
+
+        //when //then
+        assertThat(voiceDeleteOutboxRepository.existsByObjectKeyAndUserIdAndAnalysisIdAndQuestionId(OBJECT_KEY, 1L, 2L, 3L)).isTrue();
+        assertThat(voiceDeleteOutboxRepository.existsByObjectKeyAndUserIdAndAnalysisIdAndQuestionId(OBJECT_KEY, 9L, 2L, 3L)).isFalse(); // 다른 사용자
+        assertThat(voiceDeleteOutboxRepository.existsByObjectKeyAndUserIdAndAnalysisIdAndQuestionId(OBJECT_KEY, 1L, 9L, 3L)).isFalse(); // 다른 분석
+        assertThat(voiceDeleteOutboxRepository.existsByObjectKeyAndUserIdAndAnalysisIdAndQuestionId(OBJECT_KEY, 1L, 2L, 9L)).isFalse(); // 다른 질문
+
+        assertThat(voiceDeleteOutboxRepository.deleteUploadReservation(OBJECT_KEY, 9L, 2L, 3L)).isZero();
+        assertThat(voiceDeleteOutboxRepository.deleteUploadReservation(OBJECT_KEY, 1L, 2L, 3L)).isEqualTo(1);
+        assertThat(voiceDeleteOutboxRepository.deleteUploadReservation(OBJECT_KEY, 1L, 2L, 3L)).isZero(); // 이미 확인됨
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.doongdoong.domain.voice.service;
+
+import com.project.doongdoong.domain.question.model.QuestionContent;
+import com.project.doongdoong.domain.voice.event.QuestionVoiceChangedEvent;
+import com.project.doongdoong.domain.voice.model.Voice;
+import com.project.doongdoong.domain.voice.repository.VoiceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuestionVoiceUrlCacheTest {
+
+    VoiceRepository voiceRepository;
+    StringRedisTemplate stringRedisTemplate;
+    SimpleMeterRegistry meterRegistry;
+    QuestionVoiceUrlCache questionVoiceUrlCache;
+
+    @BeforeEach
+    void setUp() {
+        voiceRepository = mock(VoiceRepository.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        questionVoiceUrlCache = new QuestionVoiceUrlCache(voiceRepository, meterRegistry
+                , stringRedisTemplate, mock(RedisMessageListenerContainer.class));
+    }
+
+    @Test
+    @DisplayName("시작 시 적재한 질문 음성 url 은 DB 조회 없이 반환한다.")
+    void getAccessUrlHit() {
+        //given
+        when(voiceRepository.findVoiceAllByQuestionContentIn(anyList()))
+                .thenReturn(List.of(createVoice(QuestionContent.FIXED_QUESTION1, "https://bucket/voice/1")));
+        questionVoiceUrlCache.load();
+
+        //when
+        Optional<String> result = questionVoiceUrlCache.getAccessUrl(QuestionContent.FIXED_QUESTION1);
+
+        //then
+        assertThat(result).contains("https://bucket/voice/1");
+        verify(voiceRepository, never()).findVoiceByQuestionContent(any());
+        assertThat(meterRegistry.get("question.voice.url.cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 질문은 DB 에서 읽어 캐시에 반영하고, 다음 조회부터는 캐시에서 반환한다.")
+    void getAccessUrlMiss() {
+        //given
+        when(voiceRepository.findVoiceByQuestionContent(QuestionContent.FIXED_QUESTION1))
+                .thenReturn(Optional.of(createVoice(QuestionContent.FIXED_QUESTION1, "https://bucket/voice/1")));
+
+        //when
+        Optional<String> first = questionVoiceUrlCache.getAccessUrl(QuestionContent.FIXED_QUESTION1);
+        Optional<String> second = questionVoiceUrlCache.getAccessUrl(QuestionContent.FIXED_QUESTION1);
+
+        //then
+        assertThat(first).contains("https://bucket/voice/1");
+        assertThat(second).contains("https://bucket/voice/1");
+        verify(voiceRepository, times(1)).findVoiceByQuestionContent(QuestionContent.FIXED_QUESTION1);
+        assertThat(meterRegistry.get("question.voice.url.cache").tag("result", "miss").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("question.voice.url.cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("DB 에도 질문 음성이 없으면 빈 값을 반환하고 캐시에 반영하지 않는다.")
+    void getAccessUrlNotFound() {
+        //given
+        when(voiceRepository.findVoiceByQuestionContent(QuestionContent.FIXED_QUESTION1)).thenReturn(Optional.empty());
+
+        //when
+        Optional<String> first = questionVoiceUrlCache.getAccessUrl(QuestionContent.FIXED_QUESTION1);
+        Optional<String> second = questionVoiceUrlCache.getAccessUrl(QuestionContent.FIXED_QUESTION1);
+
+        //then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(voiceRepository, times(2)).findVoiceByQuestionContent(QuestionContent.FIXED_QUESTION1);
+    }
+
+    @Test
+    @DisplayName("질문 음성이 저장되면 캐시를 새 url 로 갱신하고 다른 서버에 \"질문=url\" 을 발행한다.")
+    void onQuestionVoiceChanged() {
+        //given
+        when(voiceRepository.findVoiceAllByQuestionContentIn(anyList()))
+                .thenReturn(List.of(createVoice(QuestionContent.FIXED_QUESTION1, "https://bucket/voice/old")));
+        questionVoiceUrlCache.load();
+
+        //when
+        questionVoiceUrlCache.onQuestionVoiceChanged(new QuestionVoiceChangedEvent(QuestionContent.FIXED_QUESTION1, "https://bucket/voice/new"));
+
+        //then
+        assertThat(questionVoiceUrlCache.getAccessUrl(QuestionContent.FIXED_QUESTION1)).contains("https://bucket/voice/new");
+        verify(stringRedisTemplate).convertAndSend(QuestionVoiceUrlCache.REFRESH_CHANNEL, "FIXED_QUESTION1=https://bucket/voice/new");
+    }
+
+    @Test
+    @DisplayName("다른 서버가 발행한 갱신 메시지를 받으면 캐시를 갱신하고, 알 수 없는 질문은 무시한다.")
+    void onMessage() {
+        //when
+        questionVoiceUrlCache.onMessage(refreshMessageOf("FIXED_QUESTION1=https://bucket/voice/new?a=b"), null);
+        questionVoiceUrlCache.onMessage(refreshMessageOf("UNKNOWN_QUESTION=https://bucket/voice/unknown"), null);
+
+        //then
+        assertThat(questionVoiceUrlCache.getAccessUrl(QuestionContent.FIXED_QUESTION1)).contains("https://bucket/voice/new?a=b");
+        verify(voiceRepository, never()).findVoiceByQuestionContent(any());
+    }
+
+    private static Voice createVoice(QuestionContent questionContent, String accessUrl) {
+        Voice voice = Voice.initVoiceContentBuilder()
+                .originName("question.mp3")
+                .questionContent(questionContent)
+                .build();
+        voice.changeAccessUrl(accessUrl);
+        return voice;
+    }
+
+    private static DefaultMessage refreshMessageOf(String body) {
+        return new DefaultMessage(QuestionVoiceUrlCache.REFRESH_CHANNEL.getBytes(StandardCharsets.UTF_8)
+                , body.getBytes(StandardCharsets.UTF_8));
+    }
+}
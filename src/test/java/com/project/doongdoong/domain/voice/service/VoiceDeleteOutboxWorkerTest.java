@@ -0,0 +1,94 @@
+package com.project.doongdoong.domain.voice.service;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.project.doongdoong.domain.voice.model.VoiceDeleteOutbox;
+import com.project.doongdoong.domain.voice.repository.VoiceDeleteOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VoiceDeleteOutboxWorkerTest {
+
+    AmazonS3Client amazonS3Client;
+    VoiceDeleteOutboxRepository voiceDeleteOutboxRepository;
+    SimpleMeterRegistry meterRegistry;
+    VoiceDeleteOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        amazonS3Client = mock(AmazonS3Client.class);
+        voiceDeleteOutboxRepository = mock(VoiceDeleteOutboxRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        worker = new VoiceDeleteOutboxWorker(amazonS3Client, voiceDeleteOutboxRepository, transactionTemplate, meterRegistry
+                , "bucket", 1000, 10, 10, 3600);
+    }
+
+    @Test
+    @DisplayName("삭제에 성공한 key 의 outbox 는 지우고, 실패한 key 는 재시도를 예약한다.")
+    void drainDeletesSucceededAndRetriesFailed() {
+        //given
+        VoiceDeleteOutbox succeeded = createOutbox(1L, "voice/a.mp3");
+        VoiceDeleteOutbox failed = createOutbox(2L, "voice/b.mp3");
+        when(voiceDeleteOutboxRepository.findByNextAttemptTimeLessThanEqualOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(succeeded, failed));
+
+        MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+        error.setKey("voice/b.mp3");
+        error.setMessage("InternalError");
+        when(amazonS3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenThrow(new MultiObjectDeleteException(List.of(error), List.of()));
+        when(voiceDeleteOutboxRepository.count()).thenReturn(1L);
+
+        //when
+        worker.drain();
+
+        //then
+        verify(amazonS3Client, times(1)).deleteObjects(any(DeleteObjectsRequest.class)); // 배치 하나 -> 요청 한 번
+        verify(voiceDeleteOutboxRepository).deleteAllByIdIn(List.of(1L));
+        verify(voiceDeleteOutboxRepository).scheduleRetry(eq(2L), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("voice.delete.outbox.depth").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("처리할 outbox 가 없으면 S3 를 호출하지 않는다.")
+    void drainWithEmptyOutbox() {
+        //given
+        when(voiceDeleteOutboxRepository.findByNextAttemptTimeLessThanEqualOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        //when
+        worker.drain();
+
+        //then
+        verify(amazonS3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+    }
+
+    private static VoiceDeleteOutbox createOutbox(Long id, String objectKey) {
+        VoiceDeleteOutbox outbox = new VoiceDeleteOutbox(objectKey);
+        ReflectionTestUtils.setField(outbox, "id", id);
+        return outbox;
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.doongdoong.domain.voice.service;
+
+import com.project.doongdoong.domain.voice.model.Voice;
+import com.project.doongdoong.domain.voice.model.VoiceDeleteOutbox;
+import com.project.doongdoong.domain.voice.repository.VoiceDeleteOutboxRepository;
+import com.project.doongdoong.domain.voice.repository.VoiceRepository;
+import com.project.doongdoong.module.IntegrationSupportTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoiceServiceImpTest extends IntegrationSupportTest {
+
+    @Autowired VoiceService voiceService;
+    @Autowired VoiceRepository voiceRepository;
+    @Autowired VoiceDeleteOutboxRepository voiceDeleteOutboxRepository;
+
+    @Test
+    @DisplayName("음성 파일 목록을 삭제하면 DB 에서 한 번에 지우고, 각 파일의 S3 key 를 outbox 에 기록한다.")
+    void deleteAllVoices() {
+        //given
+        List<Voice> voices = voiceRepository.saveAll(List.of(
+                createVoice("voice1.mp3", "https://bucket/voice/1"),
+                createVoice("voice2.mp3", "https://bucket/voice/2"),
+                createVoice("voice3.mp3", "https://bucket/voice/3")
+        ));
+
+        //when
+        voiceService.deleteAllVoices(voices);
+
+        //then
+        assertThat(voiceRepository.findAllByAccessUrlIn(List.of("https://bucket/voice/1", "https://bucket/voice/2", "https://bucket/voice/3")))
+                .isEmpty();
+        assertThat(voiceDeleteOutboxRepository.findAll())
+                .extracting(VoiceDeleteOutbox::getObjectKey)
+                .containsExactlyInAnyOrder(
+                        "voice/" + voices.get(0).getStoredName(),
+                        "voice/" + voices.get(1).getStoredName(),
+                        "voice/" + voices.get(2).getStoredName()
+                );
+    }
+
+    @Test
+    @DisplayName("url 목록으로 삭제하면 해당 음성 파일만 지우고 outbox 에 기록한다.")
+    void deleteVoices() {
+        //given
+        Voice target = createVoice("voice1.mp3", "https://bucket/voice/1");
+        Voice other = createVoice("voice2.mp3", "https://bucket/voice/2");
+        voiceRepository.saveAll(List.of(target, other));
+
+        //when
+        voiceService.deleteVoices(List.of("https://bucket/voice/1"));
+
+        //then
+        assertThat(voiceRepository.findAllByAccessUrlIn(List.of("https://bucket/voice/1", "https://bucket/voice/2")))
+                .extracting(Voice::getAccessUrl)
+                .containsExactly("https://bucket/voice/2");
+        assertThat(voiceDeleteOutboxRepository.findAll())
+                .extracting(VoiceDeleteOutbox::getObjectKey)
+                .containsExactly("voice/" + target.getStoredName());
+    }
+
+    private static Voice createVoice(String originName, String accessUrl) {
+        Voice voice = Voice.commonBuilder()
+                .originName(originName)
+                .build();
+        voice.changeAccessUrl(accessUrl);
+        return voice;
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.doongdoong.global.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.doongdoong.domain.counsel.dto.response.CounselDetailResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LayeredCacheTest {
+
+    private static final String CACHE_NAME = "counselDetail";
+    private static final Duration REDIS_TTL = Duration.ofMinutes(10);
+
+    RedisTemplate<String, byte[]> binaryRedisTemplate;
+    ObjectMapper binaryMapper;
+    Map<String, byte[]> redisStore; // 서버 간 공유되는 L2
+    List<byte[]> publishedKeys;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        binaryRedisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, byte[]> valueOperations = mock(ValueOperations.class);
+        binaryMapper = CBORMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        redisStore = new HashMap<>();
+        publishedKeys = new ArrayList<>();
+
+        when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> redisStore.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redisStore.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), any(byte[].class), any(Duration.class));
+        when(binaryRedisTemplate.delete(anyString())).thenAnswer(invocation -> redisStore.remove(invocation.<String>getArgument(0)) != null);
+        when(binaryRedisTemplate.convertAndSend(eq(LayeredCache.EVICT_CHANNEL), any())).thenAnswer(invocation -> {
+            publishedKeys.add(invocation.getArgument(1));
+            return 1L;
+        });
+    }
+
+    @Test
+    @DisplayName("L1, L2 모두 없으면 loader 결과를 L2 와 L1 에 저장하고, 이후에는 L1 에서 조회한다.")
+    void getLoadsAndStores() {
+        //given
+        LayeredCache<CounselDetailResponse> cache = createLayeredCache();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        //when
+        CounselDetailResponse first = cache.get("1:1", () -> {
+            loadCount.incrementAndGet();
+            return createResponse(1L, "answer");
+        });
+        CounselDetailResponse second = cache.get("1:1", () -> {
+            loadCount.incrementAndGet();
+            return createResponse(1L, "other");
+        });
+
+        //then
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(first.getAnswer()).isEqualTo("answer");
+        assertThat(second).isSameAs(first);
+        assertThat(redisStore).containsKey(CACHE_NAME + ":1:1");
+        verify(binaryRedisTemplate.opsForValue(), times(1)).get(CACHE_NAME + ":1:1");
+    }
+
+    @Test
+    @DisplayName("L1 에 없고 L2 에 있으면 loader 를 호출하지 않고 L2 값을 L1 에 적재한다.")
+    void getReadsThroughRedis() {
+        //given
+        LayeredCache<CounselDetailResponse> otherServerCache = createLayeredCache();
+        otherServerCache.get("1:1", () -> createResponse(1L, "answer")); // 다른 서버가 L2 에 저장
+
+        LayeredCache<CounselDetailResponse> cache = createLayeredCache();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        //when
+        CounselDetailResponse first = cache.get("1:1", () -> {
+            loadCount.incrementAndGet();
+            return createResponse(1L, "other");
+        });
+        redisStore.clear(); // 이후 조회는 L1 에서만 가능
+        CounselDetailResponse second = cache.get("1:1", () -> {
+            loadCount.incrementAndGet();
+            return createResponse(1L, "other");
+        });
+
+        //then
+        assertThat(loadCount.get()).isZero();
+        assertThat(first.getCounselId()).isEqualTo(1L);
+        assertThat(first.getAnswer()).isEqualTo("answer");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("삭제하면 L1, L2 를 지우고 키를 발행하며, 키를 수신한 다른 서버는 L1 을 지운다.")
+    void evictPublishesToOtherServers() {
+        //given
+        LayeredCache<CounselDetailResponse> cache = createLayeredCache();
+        LayeredCache<CounselDetailResponse> otherServerCache = createLayeredCache();
+        cache.get("1:1", () -> createResponse(1L, "answer"));
+        otherServerCache.get("1:1", () -> createResponse(1L, "answer")); // L2 에서 적재
+
+        //when
+        cache.evict("1:1");
+        publishedKeys.forEach(key -> otherServerCache.onMessage(evictMessageOf(key), null));
+
+        //then
+        assertThat(redisStore).doesNotContainKey(CACHE_NAME + ":1:1");
+        assertThat(publishedKeys).hasSize(1);
+        assertThat(new String(publishedKeys.get(0), StandardCharsets.UTF_8)).isEqualTo(CACHE_NAME + ":1:1");
+        assertThat(otherServerCache.get("1:1", () -> createResponse(1L, "changed")).getAnswer()).isEqualTo("changed");
+    }
+
+    @Test
+    @DisplayName("다른 캐시 이름의 삭제 메시지는 무시한다.")
+    void onMessageIgnoresOtherCache() {
+        //given
+        LayeredCache<CounselDetailResponse> cache = createLayeredCache();
+        cache.get("1:1", () -> createResponse(1L, "answer"));
+        redisStore.clear();
+
+        //when
+        cache.onMessage(evictMessageOf("analysisDetail:1:1".getBytes(StandardCharsets.UTF_8)), null);
+
+        //then
+        assertThat(cache.get("1:1", () -> createResponse(1L, "changed")).getAnswer()).isEqualTo("answer");
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시에는 loader 결과를 그대로 반환한다.")
+    void getWhenRedisUnavailable() {
+        //given
+        LayeredCache<CounselDetailResponse> cache = createLayeredCache();
+        when(binaryRedisTemplate.opsForValue().get(anyString())).thenThrow(new IllegalStateException("redis down"));
+
+        //when
+        CounselDetailResponse result = cache.get("1:1", () -> createResponse(1L, "answer"));
+
+        //then
+        assertThat(result.getAnswer()).isEqualTo("answer");
+    }
+
+    private LayeredCache<CounselDetailResponse> createLayeredCache() { // 서버마다 L1 은 따로, L2 는 공유
+        return new LayeredCache<>(CACHE_NAME, CounselDetailResponse.class, Caffeine.newBuilder().build()
+                , binaryRedisTemplate, binaryMapper, REDIS_TTL);
+    }
+
+    private static DefaultMessage evictMessageOf(byte[] key) {
+        return new DefaultMessage(LayeredCache.EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8), key);
+    }
+
+    private static CounselDetailResponse createResponse(Long counselId, String answer) {
+        return CounselDetailResponse.builder()
+                .counselId(counselId)
+                .question("question")
+                .answer(answer)
+                .counselType("FAMILY")
+                .build();
+    }
+}
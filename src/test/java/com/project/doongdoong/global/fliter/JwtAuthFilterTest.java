@@ -0,0 +1,106 @@
+package com.project.doongdoong.global.fliter;
+
+import com.project.doongdoong.domain.analysis.dto.response.FellingStateCreateResponse;
+import com.project.doongdoong.domain.analysis.service.AnalysisService;
+import com.project.doongdoong.global.config.SecurityConfig;
+import com.project.doongdoong.global.util.JwtProvider;
+import com.project.doongdoong.module.IntegrationSupportTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+class JwtAuthFilterTest extends IntegrationSupportTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtProvider jwtProvider;
+    @MockBean
+    AnalysisService analysisService;
+
+    @Test
+    @DisplayName("실제 토큰으로 인증한 요청은 Mono 응답의 ASYNC 재디스패치에서도 인가된다.")
+    void asyncDispatchWithRealToken() throws Exception {
+        //given
+        String accessToken = jwtProvider.createAccessToken("socialId", "APPLE", "ROLE_USER");
+        FellingStateCreateResponse response = FellingStateCreateResponse.builder()
+                .transcribedText("답변")
+                .feelingState(50.0)
+                .build();
+        when(analysisService.analyzeEmotion(1L, "socialId_APPLE")).thenReturn(Mono.just(response));
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/v1/analysis/{id}", 1L)
+                        .header("Authorization", accessToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.feelingState").value(50.0));
+    }
+
+    @Test
+    @DisplayName("토큰 없이 요청하면 분석을 시작하지 않는다.")
+    void requestWithoutToken() throws Exception {
+        //when, then
+        mockMvc.perform(post("/api/v1/analysis/{id}", 1L))
+                .andExpect(status().isForbidden());
+
+        verify(analysisService, never()).analyzeEmotion(anyLong(), anyString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/", "/api/v1/user/login-oauth", "/api/v1/user/reissue", "/swagger-ui/index.html", "/actuator/health"})
+    @DisplayName("허용한 경로는 토큰 검사 없이 통과한다.")
+    void shouldNotFilterAllowedPath(String path) {
+        //given
+        JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(jwtProvider, SecurityConfig.ALLOW_REQUEST_MATCHER);
+
+        //when
+        boolean result = jwtAuthFilter.shouldNotFilter(createRequest(path));
+
+        //then
+        assertThat(result).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/v1/analysis/1", "/api/v1/counsel", "/api/v1/user/logout", "/api/v1/answer/upload-url"})
+    @DisplayName("보호된 경로는 토큰 검사를 건너뛰지 않는다.")
+    void shouldFilterProtectedPath(String path) {
+        //given
+        JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(jwtProvider, SecurityConfig.ALLOW_REQUEST_MATCHER);
+
+        //when
+        boolean result = jwtAuthFilter.shouldNotFilter(createRequest(path));
+
+        //then
+        assertThat(result).isFalse();
+    }
+
+    private static MockHttpServletRequest createRequest(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path); // AntPathRequestMatcher 는 servletPath 기준으로 비교
+        return request;
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.doongdoong.global.repositoty;
+
+import com.project.doongdoong.global.repositoty.TokenRedisRepository.Rotation;
+import com.project.doongdoong.global.repositoty.TokenRedisRepository.RotationResult;
+import com.project.doongdoong.module.IntegrationSupportTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRedisRepositoryTest extends IntegrationSupportTest {
+
+    private static final Duration REFRESH_TTL = Duration.ofMinutes(10);
+    private static final String ACCESS_TOKEN = "accessToken";
+
+    @Autowired TokenRedisRepository tokenRedisRepository;
+    @Autowired StringRedisTemplate stringRedisTemplate;
+
+    String uniqueId = TokenRedisRepository.uniqueIdOf(UUID.randomUUID().toString(), "APPLE");
+    String familyId = UUID.randomUUID().toString();
+
+    @AfterEach
+    void tearDown() { // redis 데이터는 테스트 트랜잭션 롤백 대상이 아니므로 직접 삭제
+        ReflectionTestUtils.setField(tokenRedisRepository, "reuseGraceMillis", 5000L);
+        tokenRedisRepository.logout(uniqueId, familyId, ACCESS_TOKEN, Duration.ofMillis(1));
+    }
+
+    @Test
+    @DisplayName("현재 refresh token id 로 요청하면 새 id 로 교체한다.")
+    void rotate() {
+        //given
+        tokenRedisRepository.replaceOnLogin(uniqueId, familyId, "token1", REFRESH_TTL);
+
+        //when
+        Rotation rotation = tokenRedisRepository.rotateRefreshToken(familyId, "token1", "token2", REFRESH_TTL);
+
+        //then
+        assertThat(rotation).isEqualTo(new Rotation(RotationResult.ROTATED, "token2"));
+        assertThat(tokenRedisRepository.rotateRefreshToken(familyId, "token2", "token3", REFRESH_TTL).result())
+                .isEqualTo(RotationResult.ROTATED);
+    }
+
+    @Test
+    @DisplayName("family 가 없으면 NOT_FOUND 를 반환한다.")
+    void rotateNotFound() {
+        //when
+        Rotation rotation = tokenRedisRepository.rotateRefreshToken(familyId, "token1", "token2", REFRESH_TTL);
+
+        //then
+        assertThat(rotation.result()).isEqualTo(RotationResult.NOT_FOUND);
+        assertThat(rotation.tokenId()).isNull();
+    }
+
+    @Test
+    @DisplayName("허용 시간 안에 직전 토큰으로 다시 요청하면 폐기하지 않고 이미 교체된 현재 id 를 반환한다.")
+    void rotateWithinGrace() {
+        //given
+        tokenRedisRepository.replaceOnLogin(uniqueId, familyId, "token1", REFRESH_TTL);
+        tokenRedisRepository.rotateRefreshToken(familyId, "token1", "token2", REFRESH_TTL);
+
+        //when
+        Rotation rotation = tokenRedisRepository.rotateRefreshToken(familyId, "token1", "token3", REFRESH_TTL);
+
+        //then
+        assertThat(rotation).isEqualTo(new Rotation(RotationResult.ROTATED, "token2"));
+        assertThat(tokenRedisRepository.rotateRefreshToken(familyId, "token2", "token4", REFRESH_TTL).result())
+                .isEqualTo(RotationResult.ROTATED);
+    }
+
+    @Test
+    @DisplayName("허용 시간이 지난 이전 토큰을 재사용하면 REUSED 를 반환하고 family 를 폐기한다.")
+    void rotateReused() {
+        //given
+        ReflectionTestUtils.setField(tokenRedisRepository, "reuseGraceMillis", 0L);
+        tokenRedisRepository.replaceOnLogin(uniqueId, familyId, "token1", REFRESH_TTL);
+        tokenRedisRepository.rotateRefreshToken(familyId, "token1", "token2", REFRESH_TTL);
+
+        //when
+        Rotation rotation = tokenRedisRepository.rotateRefreshToken(familyId, "token1", "token3", REFRESH_TTL);
+
+        //then
+        assertThat(rotation.result()).isEqualTo(RotationResult.REUSED);
+        assertThat(tokenRedisRepository.rotateRefreshToken(familyId, "token2", "token4", REFRESH_TTL).result())
+                .isEqualTo(RotationResult.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("로그아웃하면 family 를 삭제하고 access token 을 블랙 처리한다.")
+    void logout() {
+        //given
+        tokenRedisRepository.replaceOnLogin(uniqueId, familyId, "token1", REFRESH_TTL);
+        tokenRedisRepository.rotateRefreshToken(familyId, "token1", "token2", REFRESH_TTL);
+
+        //when
+        tokenRedisRepository.logout(uniqueId, familyId, ACCESS_TOKEN, REFRESH_TTL);
+
+        //then
+        assertThat(stringRedisTemplate.opsForValue().multiGet(List.of(
+                "refresh:family:" + familyId, "refresh:family:" + familyId + ":prev", "refresh:user:" + uniqueId)))
+                .containsOnlyNulls();
+        assertThat(tokenRedisRepository.rotateRefreshToken(familyId, "token2", "token3", REFRESH_TTL).result())
+                .isEqualTo(RotationResult.NOT_FOUND);
+        assertThat(tokenRedisRepository.existsBlackAccessToken(ACCESS_TOKEN)).isTrue();
+    }
+}
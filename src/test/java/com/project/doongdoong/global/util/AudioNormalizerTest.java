@@ -0,0 +1,77 @@
+package com.project.doongdoong.global.util;
+
+import com.project.doongdoong.global.util.AudioNormalizer.NormalizedAudio;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AudioNormalizerTest {
+
+    @Test
+    @DisplayName("44.1kHz stereo wav 를 16kHz mono 16bit wav 로 변환하고 재생 시간을 계산한다.")
+    void normalizeWav() throws Exception {
+        //given
+        AudioNormalizer audioNormalizer = new AudioNormalizer(true);
+        byte[] wav = createWav(44100f, 2, 44100); // 1초
+
+        //when
+        NormalizedAudio audio = audioNormalizer.normalize("wav", new ByteArrayInputStream(wav), wav.length);
+        byte[] normalized = audio.inputStream().readAllBytes();
+
+        //then
+        assertThat(normalized).hasSize((int) audio.contentLength());
+        assertThat(audio.durationMillis()).isEqualTo(1000L);
+
+        AudioInputStream result = AudioSystem.getAudioInputStream(new ByteArrayInputStream(normalized));
+        AudioFormat format = result.getFormat();
+        assertThat(format.getSampleRate()).isEqualTo(16000f);
+        assertThat(format.getChannels()).isEqualTo(1);
+        assertThat(format.getSampleSizeInBits()).isEqualTo(16);
+        assertThat(result.getFrameLength()).isEqualTo(16000L);
+    }
+
+    @Test
+    @DisplayName("wav 가 아니거나 변환을 사용하지 않으면 원본 스트림을 그대로 반환한다.")
+    void passThrough() throws Exception {
+        //given
+        byte[] mp3 = "mp3 데이터".getBytes();
+        InputStream inputStream = new ByteArrayInputStream(mp3);
+        byte[] wav = createWav(44100f, 2, 100);
+        InputStream wavInputStream = new ByteArrayInputStream(wav);
+
+        //when
+        NormalizedAudio mp3Audio = new AudioNormalizer(true).normalize("mp3", inputStream, mp3.length);
+        NormalizedAudio disabledAudio = new AudioNormalizer(false).normalize("wav", wavInputStream, wav.length);
+
+        //then
+        assertThat(mp3Audio.inputStream()).isSameAs(inputStream);
+        assertThat(mp3Audio.contentLength()).isEqualTo(mp3.length);
+        assertThat(mp3Audio.durationMillis()).isNull();
+        assertThat(disabledAudio.inputStream()).isSameAs(wavInputStream);
+    }
+
+    private static byte[] createWav(float sampleRate, int channels, int frames) throws Exception {
+        byte[] pcm = new byte[frames * channels * 2];
+        for (int i = 0; i < frames; i++) {
+            short sample = (short) (Math.sin(2 * Math.PI * 440 * i / sampleRate) * 8000);
+            for (int channel = 0; channel < channels; channel++) {
+                int offset = (i * channels + channel) * 2;
+                pcm[offset] = (byte) sample;
+                pcm[offset + 1] = (byte) (sample >> 8);
+            }
+        }
+        AudioFormat format = new AudioFormat(sampleRate, 16, channels, true, false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm), format, frames), AudioFileFormat.Type.WAVE, outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.doongdoong.global.util;
+
+import com.project.doongdoong.global.repositoty.TokenRedisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BlackTokenBloomFilterTest {
+
+    private static final long ROTATION_SECONDS = 1800;
+
+    TokenRedisRepository tokenRedisRepository;
+    StringRedisTemplate stringRedisTemplate;
+    BlackTokenBloomFilter blackTokenBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        tokenRedisRepository = mock(TokenRedisRepository.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        blackTokenBloomFilter = createFilter(100000, 0.01);
+    }
+
+    @Test
+    @DisplayName("예상 개수와 오탐률로 비트 수와 해시 함수 개수를 계산한다.")
+    void sizing() {
+        //when
+        BlackTokenBloomFilter filter = createFilter(100000, 0.01);
+        BlackTokenBloomFilter minimumFilter = createFilter(1, 0.5);
+
+        //then
+        assertThat(filter.getBitSize()).isEqualTo(958506); // -n ln(p) / (ln 2)^2
+        assertThat(filter.getHashCount()).isEqualTo(7); // m / n ln 2
+        assertThat(minimumFilter.getBitSize()).isEqualTo(64);
+        assertThat(minimumFilter.getHashCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("로그아웃한 토큰과 다른 서버에서 전파된 토큰은 포함 가능성이 있고, 추가하지 않은 토큰은 포함되지 않는다.")
+    void mightContain() {
+        //when
+        blackTokenBloomFilter.publish("logout-token");
+        blackTokenBloomFilter.onMessage(new DefaultMessage(
+                BlackTokenBloomFilter.BLACK_TOKEN_CHANNEL.getBytes(), TokenHashUtil.hashOf("remote-token").getBytes()), null);
+
+        //then
+        assertThat(blackTokenBloomFilter.mightContain("logout-token")).isTrue();
+        assertThat(blackTokenBloomFilter.mightContain("remote-token")).isTrue();
+        assertThat(blackTokenBloomFilter.mightContain("valid-token")).isFalse();
+        verify(stringRedisTemplate).convertAndSend(BlackTokenBloomFilter.BLACK_TOKEN_CHANNEL, TokenHashUtil.hashOf("logout-token"));
+    }
+
+    @Test
+    @DisplayName("세대가 교체되어도 이전 세대는 한 주기 동안 확인하고, 두 번 교체되면 제거된다.")
+    void rotation() {
+        //given
+        blackTokenBloomFilter.publish("logout-token");
+
+        //when, then
+        expireCurrentGeneration();
+        assertThat(blackTokenBloomFilter.mightContain("logout-token")).isTrue();
+
+        expireCurrentGeneration();
+        assertThat(blackTokenBloomFilter.mightContain("logout-token")).isFalse();
+    }
+
+    @Test
+    @DisplayName("전파 메시지를 놓친 블랙 토큰도 재동기화하면 redis 에서 읽어 필터에 추가한다.")
+    void resync() {
+        //given
+        doThrow(new IllegalStateException("redis 연결 실패"))
+                .when(stringRedisTemplate).convertAndSend(anyString(), anyString());
+        BlackTokenBloomFilter otherServerFilter = createFilter(100000, 0.01);
+        otherServerFilter.publish("missed-token"); // 다른 서버에서 로그아웃, 전파 실패
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            consumer.accept(TokenHashUtil.hashOf("missed-token"));
+            return null;
+        }).when(tokenRedisRepository).scanBlackAccessTokenHashes(any());
+        assertThat(blackTokenBloomFilter.mightContain("missed-token")).isFalse();
+
+        //when
+        expireCurrentGeneration();
+        expireCurrentGeneration(); // 세대가 모두 교체된 뒤에도 아직 유효한 블랙 토큰은 다시 채워짐
+        blackTokenBloomFilter.resync();
+
+        //then
+        assertThat(blackTokenBloomFilter.mightContain("missed-token")).isTrue();
+    }
+
+    @Test
+    @DisplayName("재동기화 중 redis 오류는 다음 주기에 다시 시도하도록 예외를 던지지 않는다.")
+    void resyncFailure() {
+        //given
+        doThrow(new IllegalStateException("redis 연결 실패"))
+                .when(tokenRedisRepository).scanBlackAccessTokenHashes(any());
+
+        //when
+        blackTokenBloomFilter.resync();
+
+        //then
+        assertThat(blackTokenBloomFilter.mightContain("valid-token")).isFalse();
+    }
+
+    private BlackTokenBloomFilter createFilter(long expectedInsertions, double falsePositiveRate) {
+        return new BlackTokenBloomFilter(tokenRedisRepository, stringRedisTemplate, mock(RedisMessageListenerContainer.class)
+                , expectedInsertions, falsePositiveRate, ROTATION_SECONDS);
+    }
+
+    private void expireCurrentGeneration() {
+        ReflectionTestUtils.setField(blackTokenBloomFilter, "rotatedAtMillis", System.currentTimeMillis() - ROTATION_SECONDS * 1000L);
+    }
+}
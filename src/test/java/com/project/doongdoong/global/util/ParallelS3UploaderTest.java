@@ -0,0 +1,69 @@
+package com.project.doongdoong.global.util;
+
+import com.project.doongdoong.domain.image.exception.FileEmptyException;
+import com.project.doongdoong.domain.image.exception.FileUploadException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelS3UploaderTest {
+
+    ParallelS3Uploader parallelS3Uploader = new ParallelS3Uploader(4, 16);
+    Set<String> deletedKeys = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void tearDown() {
+        parallelS3Uploader.shutdown();
+    }
+
+    @Test
+    @DisplayName("모든 업로드가 성공하면 입력 순서대로 결과를 반환하고 아무것도 삭제하지 않는다.")
+    void uploadAll() {
+        //when
+        List<String> result = parallelS3Uploader.uploadAll(List.of("a", "b", "c"), source -> "voice/" + source, deletedKeys::add);
+
+        //then
+        assertThat(result).containsExactly("voice/a", "voice/b", "voice/c");
+        assertThat(deletedKeys).isEmpty();
+    }
+
+    @Test
+    @DisplayName("업로드 하나가 실패하면 성공한 파일을 모두 삭제하고 업로드 예외를 던진다.")
+    void compensateOnFailure() {
+        //when //then
+        assertThatThrownBy(() -> parallelS3Uploader.uploadAll(List.of("a", "fail", "c", "d"), source -> {
+                    if (source.equals("fail")) {
+                        throw new IllegalStateException("S3 업로드 실패");
+                    }
+                    return "voice/" + source;
+                }, deletedKeys::add))
+                .isInstanceOf(FileUploadException.class);
+        assertThat(deletedKeys).containsExactlyInAnyOrder("voice/a", "voice/c", "voice/d");
+    }
+
+    @Test
+    @DisplayName("업로드 중 발생한 서비스 예외는 성공한 파일을 삭제한 뒤 그대로 던지고, 삭제 실패는 나머지 정리를 막지 않는다.")
+    void compensateRethrowsCustomException() {
+        //when //then
+        assertThatThrownBy(() -> parallelS3Uploader.uploadAll(List.of("a", "empty", "c"), source -> {
+                    if (source.equals("empty")) {
+                        throw new FileEmptyException();
+                    }
+                    return "voice/" + source;
+                }, key -> {
+                    if (key.equals("voice/a")) {
+                        throw new IllegalStateException("S3 삭제 실패");
+                    }
+                    deletedKeys.add(key);
+                }))
+                .isInstanceOf(FileEmptyException.class);
+        assertThat(deletedKeys).containsExactly("voice/c");
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.doongdoong.global.util;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class S3StreamUploaderTest {
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    AmazonS3Client amazonS3Client;
+    SimpleMeterRegistry meterRegistry;
+    S3StreamUploader s3StreamUploader;
+    List<Long> uploadedPartSizes;
+
+    @BeforeEach
+    void setUp() {
+        amazonS3Client = mock(AmazonS3Client.class);
+        meterRegistry = new SimpleMeterRegistry();
+        s3StreamUploader = new S3StreamUploader(amazonS3Client, meterRegistry, PART_SIZE);
+        uploadedPartSizes = new ArrayList<>();
+
+        InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId("upload-id");
+        when(amazonS3Client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiateResult);
+        when(amazonS3Client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            uploadedPartSizes.add(request.getPartSize());
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+    }
+
+    @Test
+    @DisplayName("길이를 알 수 없는 큰 스트림은 고정 크기 파트로 나누어 multipart 업로드한다.")
+    void uploadLargeStreamByMultipart() throws Exception {
+        //given
+        long size = PART_SIZE * 2L + 1024;
+
+        //when
+        long uploaded = s3StreamUploader.upload("bucket", "voice/a.wav", "audio/wav", new GeneratedInputStream(size), -1);
+
+        //then
+        assertThat(uploaded).isEqualTo(size);
+        assertThat(uploadedPartSizes).containsExactly((long) PART_SIZE, (long) PART_SIZE, 1024L);
+        verify(amazonS3Client).completeMultipartUpload(argThat(request -> request.getPartETags().size() == 3));
+        verify(amazonS3Client, never()).putObject(anyString(), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+        assertThat(meterRegistry.get("s3.upload.bytes").counter().count()).isEqualTo(size);
+    }
+
+    @Test
+    @DisplayName("한 파트 이하의 스트림은 multipart 없이 실제 길이로 한 번에 업로드한다.")
+    void uploadSmallStreamAtOnce() throws Exception {
+        //given
+        byte[] content = new byte[1024];
+
+        //when
+        long uploaded = s3StreamUploader.upload("bucket", "voice/a.wav", "audio/wav", new ByteArrayInputStream(content), -1);
+
+        //then
+        assertThat(uploaded).isEqualTo(1024);
+        verify(amazonS3Client).putObject(eq("bucket"), eq("voice/a.wav"), any(InputStream.class)
+                , argThat((ObjectMetadata metadata) -> metadata.getContentLength() == 1024));
+        verify(amazonS3Client, never()).initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("파트 업로드에 실패하면 multipart 업로드를 취소한다.")
+    void abortMultipartUploadWhenPartFails() {
+        //given
+        when(amazonS3Client.uploadPart(any(UploadPartRequest.class)))
+                .thenReturn(new UploadPartResult())
+                .thenThrow(new AmazonS3Exception("part upload failed"));
+
+        //when //then
+        assertThatThrownBy(() -> s3StreamUploader.upload("bucket", "voice/a.wav", "audio/wav", new GeneratedInputStream(PART_SIZE * 2L), -1))
+                .isInstanceOf(AmazonS3Exception.class);
+        verify(amazonS3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(amazonS3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    private static class GeneratedInputStream extends InputStream { // 메모리에 올리지 않고 size 만큼 생성
+        private long remaining;
+
+        GeneratedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return 1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = (int) Math.min(len, Math.min(remaining, 64 * 1024)); // 네트워크처럼 나누어 읽힘
+            remaining -= read;
+            return read;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.doongdoong.global.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SizeLimitInputStreamTest {
+
+    @Test
+    @DisplayName("제한 크기 이하의 스트림은 그대로 끝까지 읽는다.")
+    void readWithinLimit() throws IOException {
+        //given
+        SizeLimitInputStream inputStream = new SizeLimitInputStream(new ByteArrayInputStream(new byte[10]), 10);
+
+        //when
+        byte[] read = inputStream.readAllBytes();
+
+        //then
+        assertThat(read).hasSize(10);
+        assertThat(inputStream.isExceeded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("제한 크기를 넘게 읽으면 IOException 으로 중단하고 초과 여부를 남긴다.")
+    void readOverLimit() {
+        //given
+        SizeLimitInputStream inputStream = new SizeLimitInputStream(new ByteArrayInputStream(new byte[11]), 10);
+
+        //when //then
+        assertThatThrownBy(inputStream::readAllBytes)
+                .isInstanceOf(IOException.class);
+        assertThat(inputStream.isExceeded()).isTrue();
+    }
+}
@@ -0,0 +1,283 @@
+package com.project.doongdoong.global.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.doongdoong.domain.analysis.dto.response.FellingStateCreateResponse;
+import com.project.doongdoong.domain.voice.model.Voice;
+import com.project.doongdoong.global.config.LambdaResilienceConfig;
+import com.project.doongdoong.global.exception.servererror.ExternalApiCallException;
+import com.project.doongdoong.global.exception.servererror.ExternalApiUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebClientUtilTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    DisposableServer lambdaServer;
+    AtomicInteger batchErrorCallCount = new AtomicInteger();
+    AtomicInteger statusCallCount = new AtomicInteger();
+    WebClientUtil webClientUtil;
+
+    @BeforeEach
+    void setUp() {
+        lambdaServer = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .post("/batch", (request, response) -> response // 요청 순서와 반대로 응답
+                                .header("Content-Type", "application/json")
+                                .sendString(request.receive().aggregate().asString().map(body -> {
+                                    List<Map<String, Object>> results = new ArrayList<>();
+                                    readTree(body).get("fileKeys").forEach(fileKey -> results.add(
+                                            Map.of("fileKey", fileKey.asText(), "transcribedText", fileKey.asText(), "feelingState", 0.5)));
+                                    Collections.reverse(results);
+                                    return writeValue(Map.of("results", results));
+                                })))
+                        .post("/batch-error", (request, response) -> {
+                            batchErrorCallCount.incrementAndGet();
+                            return response.status(500).send();
+                        })
+                        .post("/status/{code}", (request, response) -> { // 지정한 상태 코드로 실패
+                            statusCallCount.incrementAndGet();
+                            return response.status(Integer.parseInt(request.param("code"))).send();
+                        })
+                        .post("/slow", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just(writeValue(Map.of("transcribedText", "slow", "feelingState", 0.5)))
+                                        .delayElement(Duration.ofSeconds(2))))
+                        .post("/single", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(request.receive().aggregate().asString().map(body -> {
+                                    String fileKey = readTree(body).get("fileKey").asText();
+                                    return writeValue(Map.of("transcribedText", fileKey, "feelingState", 0.5));
+                                }).delayElement(Duration.ofMillis(ThreadLocalRandom.current().nextInt(100)))))) // 응답 완료 순서를 섞음
+                .bindNow();
+
+        webClientUtil = createWebClientUtil(CircuitBreakerRegistry.ofDefaults());
+    }
+
+    private WebClientUtil createWebClientUtil(CircuitBreakerRegistry circuitBreakerRegistry) {
+        WebClientUtil webClientUtil = new WebClientUtil(WebClient.create(), null, circuitBreakerRegistry);
+        String baseUrl = "http://localhost:" + lambdaServer.port();
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextApiUrl", baseUrl + "/single");
+        ReflectionTestUtils.setField(webClientUtil, "textTimeoutMillis", 5000L);
+        ReflectionTestUtils.setField(webClientUtil, "batchTimeoutMillis", 5000L);
+        ReflectionTestUtils.setField(webClientUtil, "fanOutConcurrency", 4);
+        ReflectionTestUtils.setField(webClientUtil, "maxRetryAttempts", 0);
+        ReflectionTestUtils.setField(webClientUtil, "minBackoffMillis", 10L);
+        ReflectionTestUtils.setField(webClientUtil, "maxBackoffMillis", 10L);
+        return webClientUtil;
+    }
+
+    @AfterEach
+    void tearDown() {
+        lambdaServer.disposeNow();
+    }
+
+    @Test
+    @DisplayName("배치 API 응답 순서가 달라도 요청한 음성 파일 순서대로 분석 결과를 반환한다.")
+    void callAnalyzeEmotionWithBatch() {
+        //given
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextBatchApiUrl", "http://localhost:" + lambdaServer.port() + "/batch");
+        List<Voice> voices = createVoices(4);
+
+        //when
+        List<FellingStateCreateResponse> result = webClientUtil.callAnalyzeEmotion(voices).block();
+
+        //then
+        assertThat(result).extracting(FellingStateCreateResponse::getTranscribedText)
+                .containsExactlyElementsOf(fileKeysOf(voices));
+    }
+
+    @Test
+    @DisplayName("배치 API 호출이 실패하면 재시도 없이 음성 파일 단위 호출로 요청한 음성 파일 순서대로 분석 결과를 반환한다.")
+    void callAnalyzeEmotionFallbackToSingle() {
+        //given
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextBatchApiUrl", "http://localhost:" + lambdaServer.port() + "/batch-error");
+        ReflectionTestUtils.setField(webClientUtil, "maxRetryAttempts", 2);
+        List<Voice> voices = createVoices(4);
+
+        //when
+        List<FellingStateCreateResponse> result = webClientUtil.callAnalyzeEmotion(voices).block();
+
+        //then
+        assertThat(result).extracting(FellingStateCreateResponse::getTranscribedText)
+                .containsExactlyElementsOf(fileKeysOf(voices));
+        assertThat(batchErrorCallCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("1회 호출 제한 시간을 넘기면 응답을 기다리지 않고 외부 API 호출 예외로 변환한다.")
+    void callTimeout() {
+        //given
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextApiUrl", baseUrl() + "/slow");
+        ReflectionTestUtils.setField(webClientUtil, "textTimeoutMillis", 200L);
+        List<Voice> voices = createVoices(1);
+        long start = System.nanoTime();
+
+        //when //then
+        assertThatThrownBy(() -> webClientUtil.callAnalyzeEmotion(voices).block())
+                .isInstanceOf(ExternalApiCallException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {500, 503, 429})
+    @DisplayName("lambda 측 장애(5xx, 429)는 설정한 횟수만큼 재시도한다.")
+    void retryOnServerSideFailure(int statusCode) {
+        //given
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextApiUrl", baseUrl() + "/status/" + statusCode);
+        ReflectionTestUtils.setField(webClientUtil, "maxRetryAttempts", 2);
+        List<Voice> voices = createVoices(1);
+
+        //when //then
+        assertThatThrownBy(() -> webClientUtil.callAnalyzeEmotion(voices).block())
+                .isInstanceOf(ExternalApiCallException.class);
+        assertThat(statusCallCount).hasValue(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {400, 404})
+    @DisplayName("요청 오류(4xx)는 다시 보내도 같은 결과이므로 재시도하지 않는다.")
+    void noRetryOnClientError(int statusCode) {
+        //given
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextApiUrl", baseUrl() + "/status/" + statusCode);
+        ReflectionTestUtils.setField(webClientUtil, "maxRetryAttempts", 2);
+        List<Voice> voices = createVoices(1);
+
+        //when //then
+        assertThatThrownBy(() -> webClientUtil.callAnalyzeEmotion(voices).block())
+                .isInstanceOf(ExternalApiCallException.class);
+        assertThat(statusCallCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("연결 실패(I/O 오류)도 재시도 후 외부 API 호출 예외로 변환한다.")
+    void retryOnConnectFailure() {
+        //given
+        DisposableServer closedServer = HttpServer.create().port(0).bindNow();
+        int closedPort = closedServer.port();
+        closedServer.disposeNow(); // 닫힌 포트
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextApiUrl", "http://localhost:" + closedPort + "/single");
+        ReflectionTestUtils.setField(webClientUtil, "maxRetryAttempts", 2);
+        List<Voice> voices = createVoices(1);
+
+        //when //then
+        assertThatThrownBy(() -> webClientUtil.callAnalyzeEmotion(voices).block())
+                .isInstanceOf(ExternalApiCallException.class);
+        assertThat(LambdaResilienceConfig.isServerSideFailure(new WebClientRequestException(new ConnectException()
+                , HttpMethod.POST, URI.create("http://localhost"), HttpHeaders.EMPTY))).isTrue();
+    }
+
+    @Test
+    @DisplayName("lambda 측 장애가 누적되면 서킷 브레이커가 열리고, 이후 호출은 lambda 를 호출하지 않고 일시적 장애 예외로 응답한다.")
+    void circuitBreakerOpen() {
+        //given
+        WebClientUtil webClientUtil = createWebClientUtil(CircuitBreakerRegistry.of(circuitBreakerConfig()));
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextApiUrl", baseUrl() + "/status/500");
+        List<Voice> voices = createVoices(1);
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> webClientUtil.callAnalyzeEmotion(voices).block())
+                    .isInstanceOf(ExternalApiCallException.class);
+        }
+
+        //when //then
+        assertThatThrownBy(() -> webClientUtil.callAnalyzeEmotion(voices).block())
+                .isInstanceOf(ExternalApiUnavailableException.class);
+        assertThat(statusCallCount).hasValue(2); // OPEN 상태에서는 호출하지 않음
+    }
+
+    @Test
+    @DisplayName("요청 오류(4xx)는 lambda 장애로 집계하지 않으므로 서킷 브레이커가 열리지 않는다.")
+    void circuitBreakerIgnoresClientError() {
+        //given
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig());
+        WebClientUtil webClientUtil = createWebClientUtil(circuitBreakerRegistry);
+        ReflectionTestUtils.setField(webClientUtil, "lambdaTextApiUrl", baseUrl() + "/status/400");
+        List<Voice> voices = createVoices(1);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> webClientUtil.callAnalyzeEmotion(voices).block())
+                    .isInstanceOf(ExternalApiCallException.class);
+        }
+
+        //then
+        assertThat(statusCallCount).hasValue(3);
+        assertThat(circuitBreakerRegistry.circuitBreaker(LambdaResilienceConfig.LAMBDA_TEXT).getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig() { // 2번 중 1번 이상 실패하면 OPEN
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(LambdaResilienceConfig::isServerSideFailure)
+                .build();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + lambdaServer.port();
+    }
+
+    private static List<Voice> createVoices(int size) {
+        List<Voice> voices = new ArrayList<>();
+        for(int i=0; i<size; i++){
+            voices.add(Voice.commonBuilder()
+                    .originName("voice" + i + ".mp3")
+                    .build());
+        }
+        return voices;
+    }
+
+    private static List<String> fileKeysOf(List<Voice> voices) {
+        return voices.stream()
+                .map(voice -> "voice/" + voice.getStoredName())
+                .collect(Collectors.toList());
+    }
+
+    private static JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String writeValue(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.project.doongdoong.module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.doongdoong.domain.analysis.controller.AnalysisController;
 import com.project.doongdoong.domain.analysis.controller.AnalysisControllerTest;
+import com.project.doongdoong.domain.analysis.service.AnalysisJobService;
 import com.project.doongdoong.domain.analysis.service.AnalysisService;
 import com.project.doongdoong.domain.answer.service.AnswerService;
 import com.project.doongdoong.domain.counsel.controller.CounselController;
@@ -21,6 +22,8 @@ public abstract class ControllerTestSupport {
     @MockBean
     protected AnalysisService analysisService;
     @MockBean
+    protected AnalysisJobService analysisJobService;
+    @MockBean
     protected AnswerService answerService;
     @Autowired
     protected ObjectMapper objectMapper;
@@ -3,15 +3,33 @@ package com.project.doongdoong.module;
 import com.project.doongdoong.domain.voice.service.VoiceService;
 import com.project.doongdoong.global.util.WebClientUtil;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "cache.detail.redis-enabled=false", // redis 데이터는 테스트 롤백 대상이 아니므로 L1 캐시만 사용
+        "user.identity-cache.enabled=false" // 롤백된 사용자 id 가 같은 socialId 로 다시 조회되지 않도록
+})
 @Transactional
 @ActiveProfiles("test")
+@Import(IntegrationSupportTest.ImmediateSchedulerConfig.class)
 public abstract class IntegrationSupportTest {
 
     @MockBean
     protected WebClientUtil webClientUtil;
+
+    @TestConfiguration
+    static class ImmediateSchedulerConfig {
+        @Bean @Primary // 테스트 트랜잭션과 같은 스레드에서 리액티브 체인의 DB 작업이 실행되도록 설정
+        public Scheduler immediateScheduler() {
+            return Schedulers.immediate();
+        }
+    }
 }